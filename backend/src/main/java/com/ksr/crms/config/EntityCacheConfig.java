@@ -0,0 +1,30 @@
+package com.ksr.crms.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the Hibernate second-level cache for entities annotated with {@code @Cache}, backed by
+ * {@link LocalCacheRegionFactory}. The factory is a bean so its statistics can be served over HTTP.
+ */
+@Configuration
+public class EntityCacheConfig {
+
+    @Bean
+    public LocalCacheRegionFactory localCacheRegionFactory(
+            @Value("${entity-cache.max-entries:10000}") int maxEntries,
+            @Value("${entity-cache.ttl-seconds:300}") long ttlSeconds) {
+        return new LocalCacheRegionFactory(maxEntries, ttlSeconds);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(LocalCacheRegionFactory regionFactory) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, regionFactory);
+        };
+    }
+}
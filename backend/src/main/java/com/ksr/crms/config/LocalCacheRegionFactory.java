@@ -0,0 +1,72 @@
+package com.ksr.crms.config;
+
+import com.ksr.crms.dto.EntityCacheStatsDTO;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Hibernate second-level cache kept in this JVM, one bounded, expiring map per region. Used in
+ * place of a JCache provider so the application needs no extra dependency; every instance keeps
+ * its own copy, so the TTL bounds how long a change made elsewhere can go unseen.
+ */
+public class LocalCacheRegionFactory extends RegionFactoryTemplate {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Map<String, LocalCacheStorage> regions = new ConcurrentHashMap<>();
+
+    public LocalCacheRegionFactory(int maxEntries, long ttlSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+    }
+
+    /** Per-region counters, ordered by region name. */
+    public List<EntityCacheStatsDTO> getStats() {
+        return regions.values().stream()
+                .map(LocalCacheStorage::stats)
+                .sorted((a, b) -> a.getRegion().compareTo(b.getRegion()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        regions.values().forEach(StorageAccess::release);
+        regions.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return storage(regionConfig.getRegionName());
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        return storage(regionName);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+                                                                SessionFactoryImplementor sessionFactory) {
+        return storage(regionName);
+    }
+
+    private LocalCacheStorage storage(String regionName) {
+        return regions.computeIfAbsent(regionName, name -> new LocalCacheStorage(name, maxEntries, ttlNanos));
+    }
+}
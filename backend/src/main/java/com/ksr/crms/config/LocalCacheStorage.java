@@ -0,0 +1,113 @@
+package com.ksr.crms.config;
+
+import com.ksr.crms.dto.EntityCacheStatsDTO;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Storage behind one second-level cache region: an LRU map bounded to {@code maxEntries}, whose
+ * entries also expire {@code ttl} after they were written. Hits and misses count every lookup,
+ * including the ones Hibernate makes while locking an entry for an update.
+ */
+class LocalCacheStorage implements DomainDataStorageAccess {
+
+    private final String regionName;
+    private final long ttlNanos;
+    private final Map<Object, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    LocalCacheStorage(String regionName, int maxEntries, long ttlNanos) {
+        this.regionName = regionName;
+        this.ttlNanos = ttlNanos;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+        Object value = get(key);
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    @Override
+    public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+        synchronized (entries) {
+            entries.put(key, new Entry(value, System.nanoTime() + ttlNanos));
+        }
+        puts.increment();
+    }
+
+    @Override
+    public boolean contains(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public void evictData() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    @Override
+    public void evictData(Object key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    @Override
+    public void release() {
+        evictData();
+    }
+
+    EntityCacheStatsDTO stats() {
+        EntityCacheStatsDTO stats = new EntityCacheStatsDTO();
+        stats.setRegion(regionName);
+        synchronized (entries) {
+            stats.setSize(entries.size());
+        }
+        stats.setHits(hits.sum());
+        stats.setMisses(misses.sum());
+        stats.setPuts(puts.sum());
+        stats.setEvictions(evictions.sum());
+        return stats;
+    }
+
+    private Object get(Object key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (System.nanoTime() - entry.expiresAt() >= 0) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.value();
+        }
+    }
+
+    private record Entry(Object value, long expiresAt) {
+    }
+}
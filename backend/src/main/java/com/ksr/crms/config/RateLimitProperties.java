@@ -0,0 +1,88 @@
+package com.ksr.crms.config;
+
+import com.ksr.crms.entity.User;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Token bucket sizes for rate-limited endpoints. Login and token refresh are limited per client
+ * IP; booking creation per user, with limits per role.
+ */
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private Limit login = new Limit(10, 10);
+    private Limit refresh = new Limit(30, 30);
+    private Map<User.Role, Limit> booking = new EnumMap<>(Map.of(
+            User.Role.STUDENT, new Limit(5, 10),
+            User.Role.STAFF, new Limit(20, 60),
+            User.Role.ADMIN, new Limit(50, 120)
+    ));
+
+    public static class Limit {
+        private int capacity;
+        private int refillPerMinute;
+
+        public Limit() {
+        }
+
+        public Limit(int capacity, int refillPerMinute) {
+            this.capacity = capacity;
+            this.refillPerMinute = refillPerMinute;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getRefillPerMinute() {
+            return refillPerMinute;
+        }
+
+        public void setRefillPerMinute(int refillPerMinute) {
+            this.refillPerMinute = refillPerMinute;
+        }
+    }
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Limit getLogin() {
+        return login;
+    }
+
+    public void setLogin(Limit login) {
+        this.login = login;
+    }
+
+    public Limit getRefresh() {
+        return refresh;
+    }
+
+    public void setRefresh(Limit refresh) {
+        this.refresh = refresh;
+    }
+
+    public Map<User.Role, Limit> getBooking() {
+        return booking;
+    }
+
+    public void setBooking(Map<User.Role, Limit> booking) {
+        this.booking = booking;
+    }
+}
@@ -2,8 +2,13 @@ package com.ksr.crms.controller;
 
 import com.ksr.crms.dto.AuthResponse;
 import com.ksr.crms.dto.UserDTO;
+import com.ksr.crms.exception.UnauthorizedException;
 import com.ksr.crms.security.JwtUtil;
+import com.ksr.crms.service.RefreshTokenService;
+import com.ksr.crms.service.TokenRevocationService;
 import com.ksr.crms.service.UserService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
@@ -16,10 +21,15 @@ public class AuthController {
 
     private final UserService userService;
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
 
-    public AuthController(UserService userService, JwtUtil jwtUtil) {
+    public AuthController(UserService userService, JwtUtil jwtUtil, TokenRevocationService tokenRevocationService,
+                          RefreshTokenService refreshTokenService) {
         this.userService = userService;
         this.jwtUtil = jwtUtil;
+        this.tokenRevocationService = tokenRevocationService;
+        this.refreshTokenService = refreshTokenService;
     }
 
     @PostMapping("/login")
@@ -29,14 +39,48 @@ public class AuthController {
         
         // Generate JWT token (30 minutes expiry)
         String token = jwtUtil.generateToken(user.getEmail(), user.getRole().name(), user.getId());
+        String refreshToken = refreshTokenService.issue(user.getId());
         
         // Don't send password in response
         user.setPassword(null);
         
-        AuthResponse response = new AuthResponse(token, user);
+        AuthResponse response = new AuthResponse(token, refreshToken, user);
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/refresh")
+    @Operation(summary = "Exchange a refresh token for a new JWT and refresh token, without the password")
+    public ResponseEntity<AuthResponse> refresh(@RequestBody RefreshRequest refreshRequest) {
+        if (refreshRequest.getRefreshToken() == null || refreshRequest.getRefreshToken().isBlank()) {
+            throw new UnauthorizedException("Refresh token is required");
+        }
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshRequest.getRefreshToken());
+        UserDTO user = userService.getUserById(rotation.userId());
+        String token = jwtUtil.generateToken(user.getEmail(), user.getRole().name(), user.getId());
+        return ResponseEntity.ok(new AuthResponse(token, rotation.refreshToken(), user));
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Revoke the bearer token, and the refresh token if given, so they can no longer be used")
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+                                       @RequestBody(required = false) RefreshRequest refreshRequest) {
+        // Also end the refresh token family when the client sends its refresh token
+        if (refreshRequest != null && refreshRequest.getRefreshToken() != null) {
+            refreshTokenService.revoke(refreshRequest.getRefreshToken());
+        }
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            throw new UnauthorizedException("Missing bearer token");
+        }
+        Claims claims;
+        try {
+            claims = jwtUtil.verify(authorizationHeader.substring(7));
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new UnauthorizedException("Invalid token");
+        }
+        tokenRevocationService.revokeToken(claims);
+        return ResponseEntity.noContent().build();
+    }
+
     // Inner class for login request
     public static class LoginRequest {
         private String email;
@@ -58,4 +102,17 @@ public class AuthController {
             this.password = password;
         }
     }
+
+    // Inner class for refresh and logout requests
+    public static class RefreshRequest {
+        private String refreshToken;
+
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+
+        public void setRefreshToken(String refreshToken) {
+            this.refreshToken = refreshToken;
+        }
+    }
 }
@@ -1,14 +1,28 @@
 package com.ksr.crms.controller;
 
+import com.ksr.crms.dto.AssignmentRequestDTO;
+import com.ksr.crms.dto.BatchBookingResult;
 import com.ksr.crms.dto.BookingDTO;
+import com.ksr.crms.dto.BookingSeriesDTO;
+import com.ksr.crms.dto.CursorPageResponse;
 import com.ksr.crms.service.BookingService;
+import com.ksr.crms.service.RowExporter;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -29,13 +43,78 @@ public class BookingController {
         return new ResponseEntity<>(createdBooking, HttpStatus.CREATED);
     }
 
+    @PostMapping("/auto-assign")
+    @Operation(summary = "Book the smallest free resource of a type that fits the headcount")
+    public ResponseEntity<BookingDTO> autoAssignBooking(@Valid @RequestBody AssignmentRequestDTO request) {
+        BookingDTO createdBooking = bookingService.autoAssignBooking(request);
+        return new ResponseEntity<>(createdBooking, HttpStatus.CREATED);
+    }
+
+    @PostMapping("/schedule")
+    @Operation(summary = "Assign many room requests together to maximise fulfilled requests (ADMIN)")
+    public ResponseEntity<List<BatchBookingResult>> scheduleBookings(@Valid @RequestBody ScheduleRequest request) {
+        List<BatchBookingResult> results = bookingService.scheduleBookings(request.getRequests());
+        return ResponseEntity.ok(results);
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Create many bookings in one transaction, with a result per item")
+    public ResponseEntity<List<BatchBookingResult>> createBookings(@Valid @RequestBody BatchBookingRequest request) {
+        List<BatchBookingResult> results = bookingService.createBookings(request.getBookings());
+        return ResponseEntity.ok(results);
+    }
+
+    @PostMapping("/series")
+    @Operation(summary = "Create a daily or weekly recurring booking series")
+    public ResponseEntity<BookingSeriesDTO> createSeries(@Valid @RequestBody BookingSeriesDTO seriesDTO) {
+        BookingSeriesDTO createdSeries = bookingService.createSeries(seriesDTO);
+        return new ResponseEntity<>(createdSeries, HttpStatus.CREATED);
+    }
+
+    @DeleteMapping("/series/{id}")
+    @Operation(summary = "Cancel a booking series and its remaining occurrences")
+    public ResponseEntity<Void> cancelSeries(@PathVariable Long id) {
+        bookingService.cancelSeries(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping("/series/{id}/approve")
+    @Operation(summary = "Approve all pending occurrences of a booking series (STAFF only)")
+    public ResponseEntity<BookingSeriesDTO> approveSeries(@PathVariable Long id) {
+        BookingSeriesDTO series = bookingService.approveSeries(id);
+        return ResponseEntity.ok(series);
+    }
+
     @GetMapping
-    @Operation(summary = "Get all bookings")
-    public ResponseEntity<List<BookingDTO>> getAllBookings() {
-        List<BookingDTO> bookings = bookingService.getAllBookings();
+    @Operation(summary = "Get bookings with keyset pagination, newest booking date first")
+    public ResponseEntity<CursorPageResponse<BookingDTO>> getAllBookings(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 200)") @RequestParam(defaultValue = "50") int size,
+            @Parameter(description = "Filter by status") @RequestParam(required = false) String status,
+            @Parameter(description = "Filter by resource ID") @RequestParam(required = false) Long resourceId,
+            @Parameter(description = "Earliest booking date (inclusive)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @Parameter(description = "Latest booking date (inclusive)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate
+    ) {
+        CursorPageResponse<BookingDTO> bookings = bookingService.getAllBookings(cursor, size, status, resourceId, fromDate, toDate);
         return ResponseEntity.ok(bookings);
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "Stream all bookings as CSV or newline-delimited JSON (ADMIN)")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @Parameter(description = "csv or ndjson") @RequestParam(defaultValue = "csv") String format
+    ) {
+        RowExporter.Format exportFormat = RowExporter.Format.parse(format);
+        StreamingResponseBody body = out -> bookingService.exportBookings(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("bookings." + exportFormat.getExtension()).build().toString())
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get booking by ID")
     public ResponseEntity<BookingDTO> getBookingById(@PathVariable Long id) {
@@ -73,6 +152,36 @@ public class BookingController {
         return ResponseEntity.ok(booking);
     }
 
+    // Inner class for schedule request
+    public static class ScheduleRequest {
+        @NotEmpty(message = "At least one request is required")
+        @Size(max = 1000, message = "At most 1000 requests per schedule")
+        private List<@Valid AssignmentRequestDTO> requests;
+
+        public List<AssignmentRequestDTO> getRequests() {
+            return requests;
+        }
+
+        public void setRequests(List<AssignmentRequestDTO> requests) {
+            this.requests = requests;
+        }
+    }
+
+    // Inner class for batch booking request
+    public static class BatchBookingRequest {
+        @NotEmpty(message = "At least one booking is required")
+        @Size(max = 200, message = "At most 200 bookings per batch")
+        private List<@Valid BookingDTO> bookings;
+
+        public List<BookingDTO> getBookings() {
+            return bookings;
+        }
+
+        public void setBookings(List<BookingDTO> bookings) {
+            this.bookings = bookings;
+        }
+    }
+
     // Inner class for reject request
     public static class RejectRequest {
         private String reason;
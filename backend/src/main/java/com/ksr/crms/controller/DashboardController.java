@@ -1,14 +1,27 @@
 package com.ksr.crms.controller;
 
 import com.ksr.crms.dto.DashboardDTO;
+import com.ksr.crms.dto.EntityCacheStatsDTO;
+import com.ksr.crms.dto.TimeseriesPointDTO;
+import com.ksr.crms.dto.UserDashboardDTO;
+import com.ksr.crms.entity.Booking;
+import com.ksr.crms.entity.Resource;
+import com.ksr.crms.security.AuthenticatedUser;
 import com.ksr.crms.service.DashboardService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @RestController
 @RequestMapping("/dashboard")
 @Tag(name = "Dashboard API", description = "Dashboard statistics endpoints")
@@ -26,4 +39,35 @@ public class DashboardController {
         DashboardDTO stats = dashboardService.getDashboardStats();
         return ResponseEntity.ok(stats);
     }
+
+    @GetMapping("/me")
+    @Operation(summary = "Get the current user's booking counts and next booking")
+    public ResponseEntity<UserDashboardDTO> getMyDashboard(@AuthenticationPrincipal AuthenticatedUser user) {
+        UserDashboardDTO dashboard = dashboardService.getMyDashboard(user.id());
+        return ResponseEntity.ok(dashboard);
+    }
+
+    @GetMapping("/timeseries")
+    @Operation(summary = "Bookings per day or week by resource type, status and time slot (ADMIN)")
+    public ResponseEntity<List<TimeseriesPointDTO>> getTimeseries(
+            @Parameter(description = "First day (yyyy-MM-dd), defaults to 12 months before 'to'")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day (yyyy-MM-dd), defaults to today")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "DAY or WEEK (weeks start on Monday)")
+            @RequestParam(defaultValue = "DAY") DashboardService.Granularity granularity,
+            @Parameter(description = "Filter by resource type") @RequestParam(required = false) Resource.Type type,
+            @Parameter(description = "Filter by booking status") @RequestParam(required = false) Booking.BookingStatus status,
+            @Parameter(description = "Filter by time slot") @RequestParam(required = false) Booking.TimeSlot timeSlot
+    ) {
+        List<TimeseriesPointDTO> points = dashboardService.getTimeseries(from, to, granularity, type, status, timeSlot);
+        return ResponseEntity.ok(points);
+    }
+
+    @GetMapping("/entity-cache")
+    @Operation(summary = "Second-level entity cache statistics per region (ADMIN)")
+    public ResponseEntity<List<EntityCacheStatsDTO>> getEntityCacheStats() {
+        List<EntityCacheStatsDTO> stats = dashboardService.getEntityCacheStats();
+        return ResponseEntity.ok(stats);
+    }
 }
@@ -1,14 +1,25 @@
 package com.ksr.crms.controller;
 
+import com.ksr.crms.dto.PageResponse;
+import com.ksr.crms.dto.ResourceCalendarDTO;
 import com.ksr.crms.dto.ResourceDTO;
+import com.ksr.crms.entity.Booking;
+import com.ksr.crms.entity.Resource;
+import com.ksr.crms.service.ResourceCatalog;
 import com.ksr.crms.service.ResourceService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 
 @RestController
@@ -30,9 +41,45 @@ public class ResourceController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all resources")
-    public ResponseEntity<List<ResourceDTO>> getAllResources() {
-        List<ResourceDTO> resources = resourceService.getAllResources();
+    @Operation(summary = "Search resources, filtered, sorted and paged")
+    public ResponseEntity<PageResponse<ResourceDTO>> searchResources(
+            @Parameter(description = "Filter by resource type") @RequestParam(required = false) Resource.Type type,
+            @Parameter(description = "Filter by status") @RequestParam(required = false) Resource.Status status,
+            @Parameter(description = "Minimum capacity") @RequestParam(required = false) Integer minCapacity,
+            @Parameter(description = "Name prefix, case-insensitive") @RequestParam(required = false) String name,
+            @Parameter(description = "Sort as property[,asc|desc]; id, name, type, status, capacity or createdAt")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (max 200)") @RequestParam(defaultValue = "20") int size
+    ) {
+        PageResponse<ResourceDTO> resources = resourceService.searchResources(type, status, minCapacity, name, sort,
+                page, size);
+        return ResponseEntity.ok(resources);
+    }
+
+    @GetMapping(value = "/catalog", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get every resource as a list",
+            description = "Served with an ETag; answers 304 when If-None-Match matches.")
+    public ResponseEntity<byte[]> getCatalog() {
+        // The body is the catalog's pre-serialized JSON, written as-is
+        ResourceCatalog.Snapshot catalog = resourceService.getCatalog();
+        return ResponseEntity.ok()
+                .eTag(catalog.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(catalog.json());
+    }
+
+    @GetMapping("/available")
+    @Operation(summary = "Get resources that are free for a date and time slot")
+    public ResponseEntity<List<ResourceDTO>> getAvailableResources(
+            @Parameter(description = "Booking date") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @Parameter(description = "Time slot") @RequestParam Booking.TimeSlot slot,
+            @Parameter(description = "Start time, defaults to the slot's start") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime startTime,
+            @Parameter(description = "Filter by resource type") @RequestParam(required = false) Resource.Type type,
+            @Parameter(description = "Minimum capacity") @RequestParam(required = false) Integer minCapacity
+    ) {
+        List<ResourceDTO> resources = resourceService.getAvailableResources(date, slot, startTime, type, minCapacity);
         return ResponseEntity.ok(resources);
     }
 
@@ -43,6 +90,18 @@ public class ResourceController {
         return ResponseEntity.ok(resource);
     }
 
+    @GetMapping("/{id}/calendar")
+    @Operation(summary = "Get bit-packed occupancy of a resource per day (30-minute cells from 08:00)")
+    public ResponseEntity<ResourceCalendarDTO> getResourceCalendar(
+            @PathVariable Long id,
+            @Parameter(description = "First day (inclusive)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day (inclusive), at most 92 days after from") @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        ResourceCalendarDTO calendar = resourceService.getResourceCalendar(id, from, to);
+        return ResponseEntity.ok(calendar);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update resource")
     public ResponseEntity<ResourceDTO> updateResource(@PathVariable Long id, @Valid @RequestBody ResourceDTO resourceDTO) {
@@ -1,15 +1,21 @@
 package com.ksr.crms.controller;
 
+import com.ksr.crms.dto.HashingStatsDTO;
 import com.ksr.crms.dto.PageResponse;
 import com.ksr.crms.dto.UserDTO;
+import com.ksr.crms.service.RowExporter;
 import com.ksr.crms.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/users")
@@ -40,6 +46,26 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    @GetMapping("/password-hashing/stats")
+    @Operation(summary = "Password hashing pool metrics: queue depth, rejections, queue wait and hash time")
+    public ResponseEntity<HashingStatsDTO> getPasswordHashingStats() {
+        return ResponseEntity.ok(userService.getPasswordHashingStats());
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Stream all users as CSV or newline-delimited JSON, without passwords")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @Parameter(description = "csv or ndjson") @RequestParam(defaultValue = "csv") String format
+    ) {
+        RowExporter.Format exportFormat = RowExporter.Format.parse(format);
+        StreamingResponseBody body = out -> userService.exportUsers(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("users." + exportFormat.getExtension()).build().toString())
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get user by ID")
     public ResponseEntity<UserDTO> getUserById(@PathVariable Long id) {
@@ -0,0 +1,79 @@
+package com.ksr.crms.dto;
+
+import com.ksr.crms.entity.Booking;
+import com.ksr.crms.entity.Resource;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// A booking request that names a resource type and headcount instead of a specific resource
+public class AssignmentRequestDTO {
+
+    @NotNull(message = "User ID is required")
+    private Long userId;
+
+    @NotNull(message = "Booking date is required")
+    private LocalDate bookingDate;
+
+    @NotNull(message = "Time slot is required")
+    private Booking.TimeSlot timeSlot;
+
+    private LocalTime startTime;
+
+    @NotNull(message = "Resource type is required")
+    private Resource.Type type;
+
+    @Min(value = 1, message = "Headcount must be greater than 0")
+    private int headcount = 1;
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDate getBookingDate() {
+        return bookingDate;
+    }
+
+    public void setBookingDate(LocalDate bookingDate) {
+        this.bookingDate = bookingDate;
+    }
+
+    public Booking.TimeSlot getTimeSlot() {
+        return timeSlot;
+    }
+
+    public void setTimeSlot(Booking.TimeSlot timeSlot) {
+        this.timeSlot = timeSlot;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public Resource.Type getType() {
+        return type;
+    }
+
+    public void setType(Resource.Type type) {
+        this.type = type;
+    }
+
+    public int getHeadcount() {
+        return headcount;
+    }
+
+    public void setHeadcount(int headcount) {
+        this.headcount = headcount;
+    }
+}
@@ -2,6 +2,7 @@ package com.ksr.crms.dto;
 
 public class AuthResponse {
     private String token;
+    private String refreshToken;
     private UserDTO user;
 
     public AuthResponse() {
@@ -12,6 +13,12 @@ public class AuthResponse {
         this.user = user;
     }
 
+    public AuthResponse(String token, String refreshToken, UserDTO user) {
+        this.token = token;
+        this.refreshToken = refreshToken;
+        this.user = user;
+    }
+
     public String getToken() {
         return token;
     }
@@ -20,6 +27,14 @@ public class AuthResponse {
         this.token = token;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
     public UserDTO getUser() {
         return user;
     }
@@ -0,0 +1,61 @@
+package com.ksr.crms.dto;
+
+public class BatchBookingResult {
+
+    private int index;
+    private boolean success;
+    private BookingDTO booking;
+    private String error;
+
+    // Constructors
+    public BatchBookingResult() {
+    }
+
+    public BatchBookingResult(int index, boolean success, BookingDTO booking, String error) {
+        this.index = index;
+        this.success = success;
+        this.booking = booking;
+        this.error = error;
+    }
+
+    public static BatchBookingResult created(int index, BookingDTO booking) {
+        return new BatchBookingResult(index, true, booking, null);
+    }
+
+    public static BatchBookingResult failed(int index, String error) {
+        return new BatchBookingResult(index, false, null, error);
+    }
+
+    // Getters and Setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public BookingDTO getBooking() {
+        return booking;
+    }
+
+    public void setBooking(BookingDTO booking) {
+        this.booking = booking;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
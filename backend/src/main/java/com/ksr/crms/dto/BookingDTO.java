@@ -5,6 +5,7 @@ import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 
 public class BookingDTO {
 
@@ -20,12 +21,18 @@ public class BookingDTO {
 
     private String resourceName;
 
+    private Long seriesId; // Set when the booking is an occurrence of a recurring series
+
     @NotNull(message = "Booking date is required")
     private LocalDate bookingDate;
 
     @NotNull(message = "Time slot is required")
     private Booking.TimeSlot timeSlot;
 
+    private LocalTime startTime; // Optional, defaults to the slot's start
+
+    private LocalTime endTime; // Derived from startTime and timeSlot
+
     private Booking.BookingStatus status;
 
     private String rejectionReason;
@@ -36,16 +43,19 @@ public class BookingDTO {
     public BookingDTO() {
     }
 
-    public BookingDTO(Long id, Long userId, String userName, Long resourceId, String resourceName, 
-                      LocalDate bookingDate, Booking.TimeSlot timeSlot, Booking.BookingStatus status,
-                      String rejectionReason, LocalDateTime createdAt) {
+    public BookingDTO(Long id, Long userId, String userName, Long resourceId, String resourceName, Long seriesId,
+                      LocalDate bookingDate, Booking.TimeSlot timeSlot, LocalTime startTime, LocalTime endTime,
+                      Booking.BookingStatus status, String rejectionReason, LocalDateTime createdAt) {
         this.id = id;
         this.userId = userId;
         this.userName = userName;
         this.resourceId = resourceId;
         this.resourceName = resourceName;
+        this.seriesId = seriesId;
         this.bookingDate = bookingDate;
         this.timeSlot = timeSlot;
+        this.startTime = startTime;
+        this.endTime = endTime;
         this.status = status;
         this.rejectionReason = rejectionReason;
         this.createdAt = createdAt;
@@ -92,6 +102,14 @@ public class BookingDTO {
         this.resourceName = resourceName;
     }
 
+    public Long getSeriesId() {
+        return seriesId;
+    }
+
+    public void setSeriesId(Long seriesId) {
+        this.seriesId = seriesId;
+    }
+
     public LocalDate getBookingDate() {
         return bookingDate;
     }
@@ -108,6 +126,22 @@ public class BookingDTO {
         this.timeSlot = timeSlot;
     }
 
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalTime endTime) {
+        this.endTime = endTime;
+    }
+
     public Booking.BookingStatus getStatus() {
         return status;
     }
@@ -0,0 +1,144 @@
+package com.ksr.crms.dto;
+
+import com.ksr.crms.entity.Booking;
+import com.ksr.crms.entity.BookingSeries;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+public class BookingSeriesDTO {
+
+    private Long id;
+
+    @NotNull(message = "User ID is required")
+    private Long userId;
+
+    @NotNull(message = "Resource ID is required")
+    private Long resourceId;
+
+    private String resourceName;
+
+    @NotNull(message = "Time slot is required")
+    private Booking.TimeSlot timeSlot;
+
+    private LocalTime startTime; // Optional, defaults to the slot's start
+
+    private LocalTime endTime; // Derived from startTime and timeSlot
+
+    @NotNull(message = "Frequency is required")
+    private BookingSeries.Frequency frequency;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    private LocalDateTime createdAt;
+
+    private List<BookingDTO> bookings; // Expanded occurrences, returned on creation
+
+    // Constructors
+    public BookingSeriesDTO() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getResourceId() {
+        return resourceId;
+    }
+
+    public void setResourceId(Long resourceId) {
+        this.resourceId = resourceId;
+    }
+
+    public String getResourceName() {
+        return resourceName;
+    }
+
+    public void setResourceName(String resourceName) {
+        this.resourceName = resourceName;
+    }
+
+    public Booking.TimeSlot getTimeSlot() {
+        return timeSlot;
+    }
+
+    public void setTimeSlot(Booking.TimeSlot timeSlot) {
+        this.timeSlot = timeSlot;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalTime endTime) {
+        this.endTime = endTime;
+    }
+
+    public BookingSeries.Frequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(BookingSeries.Frequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public List<BookingDTO> getBookings() {
+        return bookings;
+    }
+
+    public void setBookings(List<BookingDTO> bookings) {
+        this.bookings = bookings;
+    }
+}
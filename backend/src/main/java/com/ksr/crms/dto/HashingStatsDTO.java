@@ -0,0 +1,100 @@
+package com.ksr.crms.dto;
+
+public class HashingStatsDTO {
+
+    private int poolSize;
+    private int activeThreads;
+    private int queued;
+    private int queueCapacity;
+    private long completed;
+    private long rejected;
+    private double averageQueueWaitMillis;
+    private double maxQueueWaitMillis;
+    private double averageHashMillis;
+    private double maxHashMillis;
+
+    // Constructors
+    public HashingStatsDTO() {
+    }
+
+    // Getters and Setters
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    public int getActiveThreads() {
+        return activeThreads;
+    }
+
+    public void setActiveThreads(int activeThreads) {
+        this.activeThreads = activeThreads;
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+
+    public void setQueued(int queued) {
+        this.queued = queued;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public double getAverageQueueWaitMillis() {
+        return averageQueueWaitMillis;
+    }
+
+    public void setAverageQueueWaitMillis(double averageQueueWaitMillis) {
+        this.averageQueueWaitMillis = averageQueueWaitMillis;
+    }
+
+    public double getMaxQueueWaitMillis() {
+        return maxQueueWaitMillis;
+    }
+
+    public void setMaxQueueWaitMillis(double maxQueueWaitMillis) {
+        this.maxQueueWaitMillis = maxQueueWaitMillis;
+    }
+
+    public double getAverageHashMillis() {
+        return averageHashMillis;
+    }
+
+    public void setAverageHashMillis(double averageHashMillis) {
+        this.averageHashMillis = averageHashMillis;
+    }
+
+    public double getMaxHashMillis() {
+        return maxHashMillis;
+    }
+
+    public void setMaxHashMillis(double maxHashMillis) {
+        this.maxHashMillis = maxHashMillis;
+    }
+}
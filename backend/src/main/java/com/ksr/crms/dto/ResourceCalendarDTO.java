@@ -0,0 +1,92 @@
+package com.ksr.crms.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Occupancy of one resource over a date range. {@code occupancy[d]} is a bitmask for day
+ * {@code from + d}: bit {@code i} is set when the cell starting at {@code dayStart + i * cellMinutes}
+ * overlaps an active booking.
+ */
+public class ResourceCalendarDTO {
+
+    private Long resourceId;
+    private LocalDate from;
+    private LocalDate to;
+    private LocalTime dayStart;
+    private int cellMinutes;
+    private int cellsPerDay;
+    private int[] occupancy;
+
+    // Constructors
+    public ResourceCalendarDTO() {
+    }
+
+    public ResourceCalendarDTO(Long resourceId, LocalDate from, LocalDate to, LocalTime dayStart, int cellMinutes,
+                               int cellsPerDay, int[] occupancy) {
+        this.resourceId = resourceId;
+        this.from = from;
+        this.to = to;
+        this.dayStart = dayStart;
+        this.cellMinutes = cellMinutes;
+        this.cellsPerDay = cellsPerDay;
+        this.occupancy = occupancy;
+    }
+
+    // Getters and Setters
+    public Long getResourceId() {
+        return resourceId;
+    }
+
+    public void setResourceId(Long resourceId) {
+        this.resourceId = resourceId;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public LocalTime getDayStart() {
+        return dayStart;
+    }
+
+    public void setDayStart(LocalTime dayStart) {
+        this.dayStart = dayStart;
+    }
+
+    public int getCellMinutes() {
+        return cellMinutes;
+    }
+
+    public void setCellMinutes(int cellMinutes) {
+        this.cellMinutes = cellMinutes;
+    }
+
+    public int getCellsPerDay() {
+        return cellsPerDay;
+    }
+
+    public void setCellsPerDay(int cellsPerDay) {
+        this.cellsPerDay = cellsPerDay;
+    }
+
+    public int[] getOccupancy() {
+        return occupancy;
+    }
+
+    public void setOccupancy(int[] occupancy) {
+        this.occupancy = occupancy;
+    }
+}
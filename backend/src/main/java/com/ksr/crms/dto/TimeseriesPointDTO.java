@@ -0,0 +1,69 @@
+package com.ksr.crms.dto;
+
+import com.ksr.crms.entity.Booking;
+import com.ksr.crms.entity.Resource;
+
+import java.time.LocalDate;
+
+public class TimeseriesPointDTO {
+
+    private LocalDate period;   // The day, or the Monday of the week
+    private Resource.Type resourceType;
+    private Booking.BookingStatus status;
+    private Booking.TimeSlot timeSlot;
+    private Long count;
+
+    // Constructors
+    public TimeseriesPointDTO() {
+    }
+
+    public TimeseriesPointDTO(LocalDate period, Resource.Type resourceType, Booking.BookingStatus status,
+                              Booking.TimeSlot timeSlot, Long count) {
+        this.period = period;
+        this.resourceType = resourceType;
+        this.status = status;
+        this.timeSlot = timeSlot;
+        this.count = count;
+    }
+
+    // Getters and Setters
+    public LocalDate getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(LocalDate period) {
+        this.period = period;
+    }
+
+    public Resource.Type getResourceType() {
+        return resourceType;
+    }
+
+    public void setResourceType(Resource.Type resourceType) {
+        this.resourceType = resourceType;
+    }
+
+    public Booking.BookingStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(Booking.BookingStatus status) {
+        this.status = status;
+    }
+
+    public Booking.TimeSlot getTimeSlot() {
+        return timeSlot;
+    }
+
+    public void setTimeSlot(Booking.TimeSlot timeSlot) {
+        this.timeSlot = timeSlot;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+
+    public void setCount(Long count) {
+        this.count = count;
+    }
+}
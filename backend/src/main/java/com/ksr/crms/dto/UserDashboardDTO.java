@@ -0,0 +1,93 @@
+package com.ksr.crms.dto;
+
+import java.util.List;
+
+public class UserDashboardDTO {
+
+    private Long userId;
+    private Long totalBookings;
+    private Long upcomingBookings; // From today on, not rejected
+    private Long pendingBookings;
+    private Long approvedBookings;
+    private Long rejectedBookings;
+    private BookingDTO nextBooking; // Null when nothing is upcoming
+    private List<BookingDTO> recentBookings; // Latest five, newest booking date first
+    private Long availableResources;
+
+    // Constructors
+    public UserDashboardDTO() {
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getTotalBookings() {
+        return totalBookings;
+    }
+
+    public void setTotalBookings(Long totalBookings) {
+        this.totalBookings = totalBookings;
+    }
+
+    public Long getUpcomingBookings() {
+        return upcomingBookings;
+    }
+
+    public void setUpcomingBookings(Long upcomingBookings) {
+        this.upcomingBookings = upcomingBookings;
+    }
+
+    public Long getPendingBookings() {
+        return pendingBookings;
+    }
+
+    public void setPendingBookings(Long pendingBookings) {
+        this.pendingBookings = pendingBookings;
+    }
+
+    public Long getApprovedBookings() {
+        return approvedBookings;
+    }
+
+    public void setApprovedBookings(Long approvedBookings) {
+        this.approvedBookings = approvedBookings;
+    }
+
+    public Long getRejectedBookings() {
+        return rejectedBookings;
+    }
+
+    public void setRejectedBookings(Long rejectedBookings) {
+        this.rejectedBookings = rejectedBookings;
+    }
+
+    public BookingDTO getNextBooking() {
+        return nextBooking;
+    }
+
+    public void setNextBooking(BookingDTO nextBooking) {
+        this.nextBooking = nextBooking;
+    }
+
+    public List<BookingDTO> getRecentBookings() {
+        return recentBookings;
+    }
+
+    public void setRecentBookings(List<BookingDTO> recentBookings) {
+        this.recentBookings = recentBookings;
+    }
+
+    public Long getAvailableResources() {
+        return availableResources;
+    }
+
+    public void setAvailableResources(Long availableResources) {
+        this.availableResources = availableResources;
+    }
+}
@@ -5,17 +5,21 @@ import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 
 @Entity
 @Table(name = "bookings", indexes = {
     @Index(name = "idx_booking_date_resource_timeslot", columnList = "booking_date, resource_id, time_slot"),
     @Index(name = "idx_user_id", columnList = "user_id"),
-    @Index(name = "idx_resource_id", columnList = "resource_id")
+    @Index(name = "idx_resource_id", columnList = "resource_id"),
+    @Index(name = "idx_series_id", columnList = "series_id")
 })
 public class Booking {
 
+    // Sequence ids (allocated 50 at a time) so inserts can be JDBC-batched; IDENTITY disables batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+    @SequenceGenerator(name = "booking_seq", sequenceName = "bookings_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -26,6 +30,10 @@ public class Booking {
     @JoinColumn(name = "resource_id", nullable = false)
     private Resource resource;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "series_id", nullable = true) // Set for occurrences of a recurring series
+    private BookingSeries series;
+
     @Column(nullable = false)
     private LocalDate bookingDate;
 
@@ -33,6 +41,12 @@ public class Booking {
     @Column(nullable = false)
     private TimeSlot timeSlot;
 
+    @Column(nullable = true) // Nullable for existing records, see TimeSlot.resolveStart
+    private LocalTime startTime;
+
+    @Column(nullable = true) // Nullable for existing records
+    private LocalTime endTime;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private BookingStatus status = BookingStatus.PENDING;
@@ -49,17 +63,45 @@ public class Booking {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Exclusion constraint on slot_range (see database-update.sql) that rejects overlapping active bookings
+    public static final String NO_OVERLAP_CONSTRAINT = "bookings_no_overlap";
+
+    // Bookable hours of a campus day
+    public static final LocalTime DAY_START = LocalTime.of(8, 0);
+    public static final LocalTime DAY_END = LocalTime.of(20, 0);
+
     public enum TimeSlot {
         // Legacy values (for backward compatibility with existing data)
-        MORNING,
-        AFTERNOON,
+        MORNING(LocalTime.of(8, 0), 240),
+        AFTERNOON(LocalTime.of(13, 0), 240),
         // New values
-        ONE_HOUR,      // 1 hour (Students & Staff)
-        TWO_HOURS,     // 2 hours (Students & Staff)
-        THREE_HOURS,   // 3 hours (Students & Staff)
-        FOUR_HOURS,    // 4 hours (Staff only)
-        FIVE_HOURS,    // 5 hours (Staff only)
-        FULL_DAY       // Full day (Staff only)
+        ONE_HOUR(null, 60),       // 1 hour (Students & Staff)
+        TWO_HOURS(null, 120),     // 2 hours (Students & Staff)
+        THREE_HOURS(null, 180),   // 3 hours (Students & Staff)
+        FOUR_HOURS(null, 240),    // 4 hours (Staff only)
+        FIVE_HOURS(null, 300),    // 5 hours (Staff only)
+        FULL_DAY(DAY_START, 720); // Full day (Staff only)
+
+        private final LocalTime fixedStart;
+        private final int durationMinutes;
+
+        TimeSlot(LocalTime fixedStart, int durationMinutes) {
+            this.fixedStart = fixedStart;
+            this.durationMinutes = durationMinutes;
+        }
+
+        // MORNING, AFTERNOON and FULL_DAY have a fixed window; the others start when requested,
+        // defaulting to the start of the day (also used for records created before start times existed)
+        public LocalTime resolveStart(LocalTime requestedStart) {
+            if (fixedStart != null) {
+                return fixedStart;
+            }
+            return requestedStart != null ? requestedStart : DAY_START;
+        }
+
+        public LocalTime endFor(LocalTime start) {
+            return start.plusMinutes(durationMinutes);
+        }
     }
 
     public enum BookingStatus {
@@ -72,13 +114,16 @@ public class Booking {
     public Booking() {
     }
 
-    public Booking(Long id, User user, Resource resource, LocalDate bookingDate, TimeSlot timeSlot, 
-                   BookingStatus status, String rejectionReason, Boolean deleted, LocalDateTime deletedAt, LocalDateTime createdAt) {
+    public Booking(Long id, User user, Resource resource, LocalDate bookingDate, TimeSlot timeSlot, LocalTime startTime,
+                   LocalTime endTime, BookingStatus status, String rejectionReason, Boolean deleted, LocalDateTime deletedAt,
+                   LocalDateTime createdAt) {
         this.id = id;
         this.user = user;
         this.resource = resource;
         this.bookingDate = bookingDate;
         this.timeSlot = timeSlot;
+        this.startTime = startTime;
+        this.endTime = endTime;
         this.status = status;
         this.rejectionReason = rejectionReason;
         this.deleted = deleted;
@@ -111,6 +156,14 @@ public class Booking {
         this.resource = resource;
     }
 
+    public BookingSeries getSeries() {
+        return series;
+    }
+
+    public void setSeries(BookingSeries series) {
+        this.series = series;
+    }
+
     public LocalDate getBookingDate() {
         return bookingDate;
     }
@@ -127,6 +180,31 @@ public class Booking {
         this.timeSlot = timeSlot;
     }
 
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalTime endTime) {
+        this.endTime = endTime;
+    }
+
+    // Start/end for conflict checks, falling back to the slot's window for existing records
+    public LocalTime getEffectiveStartTime() {
+        return startTime != null ? startTime : timeSlot.resolveStart(null);
+    }
+
+    public LocalTime getEffectiveEndTime() {
+        return endTime != null ? endTime : timeSlot.endFor(getEffectiveStartTime());
+    }
+
     public BookingStatus getStatus() {
         return status;
     }
@@ -0,0 +1,91 @@
+package com.ksr.crms.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Number of (not deleted) bookings per day, resource type, status and time slot. Kept up to date
+ * by BookingRollups on every booking change, so analytics never have to scan the bookings table.
+ */
+@Entity
+@Table(name = "booking_daily_rollups", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_booking_rollup_key", columnNames = {"booking_date", "resource_type", "status", "time_slot"})
+})
+public class BookingDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate bookingDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Resource.Type resourceType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Booking.BookingStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Booking.TimeSlot timeSlot;
+
+    @Column(nullable = false)
+    private Long bookingCount = 0L;
+
+    // Constructors
+    public BookingDailyRollup() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getBookingDate() {
+        return bookingDate;
+    }
+
+    public void setBookingDate(LocalDate bookingDate) {
+        this.bookingDate = bookingDate;
+    }
+
+    public Resource.Type getResourceType() {
+        return resourceType;
+    }
+
+    public void setResourceType(Resource.Type resourceType) {
+        this.resourceType = resourceType;
+    }
+
+    public Booking.BookingStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(Booking.BookingStatus status) {
+        this.status = status;
+    }
+
+    public Booking.TimeSlot getTimeSlot() {
+        return timeSlot;
+    }
+
+    public void setTimeSlot(Booking.TimeSlot timeSlot) {
+        this.timeSlot = timeSlot;
+    }
+
+    public Long getBookingCount() {
+        return bookingCount;
+    }
+
+    public void setBookingCount(Long bookingCount) {
+        this.bookingCount = bookingCount;
+    }
+}
@@ -1,7 +1,24 @@
 package com.ksr.crms.exception;
 
+import com.ksr.crms.entity.Booking;
+
+import java.sql.SQLException;
+
 public class ConflictException extends RuntimeException {
     public ConflictException(String message) {
         super(message);
     }
+
+    // True if ex was caused by the bookings_no_overlap exclusion constraint (SQLSTATE 23P01)
+    public static boolean isBookingOverlap(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && "23P01".equals(sqlException.getSQLState())) {
+                return true;
+            }
+            if (cause.getMessage() != null && cause.getMessage().contains(Booking.NO_OVERLAP_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,75 @@
+package com.ksr.crms.repository;
+
+import com.ksr.crms.entity.Booking;
+import com.ksr.crms.entity.BookingDailyRollup;
+import com.ksr.crms.entity.Resource;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface BookingDailyRollupRepository extends JpaRepository<BookingDailyRollup, Long> {
+
+    @Query("SELECT r FROM BookingDailyRollup r " +
+           "WHERE r.bookingDate BETWEEN :fromDate AND :toDate " +
+           "AND r.bookingCount <> 0 " +
+           "AND (:type IS NULL OR r.resourceType = :type) " +
+           "AND (:status IS NULL OR r.status = :status) " +
+           "AND (:timeSlot IS NULL OR r.timeSlot = :timeSlot) " +
+           "ORDER BY r.bookingDate")
+    List<BookingDailyRollup> findBetween(
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate,
+            @Param("type") Resource.Type type,
+            @Param("status") Booking.BookingStatus status,
+            @Param("timeSlot") Booking.TimeSlot timeSlot
+    );
+
+    // Native writes name the table they touch; otherwise Hibernate evicts every second-level cache region
+    String ROLLUP_SPACE = "booking_daily_rollups";
+
+    // Adds delta to one rollup row, creating it if needed, in a single statement
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ROLLUP_SPACE))
+    @Query(value = "INSERT INTO booking_daily_rollups (booking_date, resource_type, status, time_slot, booking_count) " +
+                   "VALUES (:bookingDate, :resourceType, :status, :timeSlot, :delta) " +
+                   "ON CONFLICT (booking_date, resource_type, status, time_slot) " +
+                   "DO UPDATE SET booking_count = booking_daily_rollups.booking_count + EXCLUDED.booking_count",
+           nativeQuery = true)
+    int addToCount(
+            @Param("bookingDate") LocalDate bookingDate,
+            @Param("resourceType") String resourceType,
+            @Param("status") String status,
+            @Param("timeSlot") String timeSlot,
+            @Param("delta") long delta
+    );
+
+    // Blocks incremental updates until the rebuilding transaction commits
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ROLLUP_SPACE))
+    @Query(value = "LOCK TABLE booking_daily_rollups IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ROLLUP_SPACE))
+    @Query(value = "DELETE FROM booking_daily_rollups", nativeQuery = true)
+    int deleteAllRows();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ROLLUP_SPACE))
+    @Query(value = "INSERT INTO booking_daily_rollups (booking_date, resource_type, status, time_slot, booking_count) " +
+                   "SELECT b.booking_date, r.type, b.status, b.time_slot, COUNT(*) " +
+                   "FROM bookings b JOIN resources r ON r.id = b.resource_id " +
+                   "WHERE (b.deleted IS NULL OR b.deleted = false) AND r.type IS NOT NULL " +
+                   "GROUP BY b.booking_date, r.type, b.status, b.time_slot",
+           nativeQuery = true)
+    int backfill();
+}
@@ -1,29 +1,153 @@
 package com.ksr.crms.repository;
 
+import com.ksr.crms.dto.BookingDTO;
 import com.ksr.crms.entity.Booking;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking> {
 
-    List<Booking> findByUserId(Long userId);
+    // Single join straight into the DTO so listing a user's bookings never touches the lazy associations
+    @Query("SELECT new com.ksr.crms.dto.BookingDTO(b.id, u.id, u.name, r.id, r.name, s.id, " +
+           "b.bookingDate, b.timeSlot, b.startTime, b.endTime, b.status, b.rejectionReason, b.createdAt) " +
+           "FROM Booking b JOIN b.user u JOIN b.resource r LEFT JOIN b.series s " +
+           "WHERE u.id = :userId " +
+           "AND (b.deleted IS NULL OR b.deleted = false) " +
+           "ORDER BY b.bookingDate DESC, b.id DESC")
+    List<BookingDTO> findDTOsByUserId(@Param("userId") Long userId);
+
+    // The first rows of findDTOsByUserId, for the recent bookings on GET /dashboard/me
+    @Query("SELECT new com.ksr.crms.dto.BookingDTO(b.id, u.id, u.name, r.id, r.name, s.id, " +
+           "b.bookingDate, b.timeSlot, b.startTime, b.endTime, b.status, b.rejectionReason, b.createdAt) " +
+           "FROM Booking b JOIN b.user u JOIN b.resource r LEFT JOIN b.series s " +
+           "WHERE u.id = :userId " +
+           "AND (b.deleted IS NULL OR b.deleted = false) " +
+           "ORDER BY b.bookingDate DESC, b.id DESC")
+    List<BookingDTO> findRecentDTOsByUserId(@Param("userId") Long userId, Pageable pageable);
 
-    @Query("SELECT COUNT(b) FROM Booking b WHERE b.status = 'APPROVED'")
+    // GET /bookings/export: DTO rows are never managed by the session, and the fetch size makes the
+    // driver read through a cursor instead of loading the whole result (needs a transaction)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.ksr.crms.dto.BookingDTO(b.id, u.id, u.name, r.id, r.name, s.id, " +
+           "b.bookingDate, b.timeSlot, b.startTime, b.endTime, b.status, b.rejectionReason, b.createdAt) " +
+           "FROM Booking b JOIN b.user u JOIN b.resource r LEFT JOIN b.series s " +
+           "WHERE b.deleted IS NULL OR b.deleted = false " +
+           "ORDER BY b.id")
+    Stream<BookingDTO> streamAllForExport();
+
+    @Query("SELECT COUNT(b) FROM Booking b WHERE b.status = 'APPROVED' AND (b.deleted IS NULL OR b.deleted = false)")
     Long countApprovedBookings();
 
-    @Query("SELECT b FROM Booking b WHERE b.resource.id = :resourceId " +
-           "AND b.bookingDate = :bookingDate " +
-           "AND b.timeSlot = :timeSlot")
-    List<Booking> findConflictingBookings(
+    @Query("SELECT COUNT(b) FROM Booking b WHERE b.deleted IS NULL OR b.deleted = false")
+    long countNotDeleted();
+
+    // One round trip for a user's dashboard: counts by status plus the next upcoming booking (idx_user_id)
+    @Query(value = "SELECT a.total AS \"total\", a.upcoming AS \"upcoming\", a.pending AS \"pending\", " +
+                   "a.approved AS \"approved\", a.rejected AS \"rejected\", " +
+                   "n.id AS \"nextId\", n.resource_id AS \"nextResourceId\", n.resource_name AS \"nextResourceName\", " +
+                   "CAST(n.booking_date AS text) AS \"nextDate\", n.time_slot AS \"nextTimeSlot\", " +
+                   "CAST(n.start_time AS text) AS \"nextStartTime\", CAST(n.end_time AS text) AS \"nextEndTime\", " +
+                   "n.status AS \"nextStatus\" " +
+                   "FROM (SELECT COUNT(*) AS total, " +
+                   "COUNT(*) FILTER (WHERE b.booking_date >= :today AND b.status <> 'REJECTED') AS upcoming, " +
+                   "COUNT(*) FILTER (WHERE b.status = 'PENDING') AS pending, " +
+                   "COUNT(*) FILTER (WHERE b.status = 'APPROVED') AS approved, " +
+                   "COUNT(*) FILTER (WHERE b.status = 'REJECTED') AS rejected " +
+                   "FROM bookings b WHERE b.user_id = :userId AND (b.deleted IS NULL OR b.deleted = false)) a " +
+                   "LEFT JOIN LATERAL (SELECT b.id, b.resource_id, r.name AS resource_name, b.booking_date, " +
+                   "b.time_slot, b.start_time, b.end_time, b.status " +
+                   "FROM bookings b JOIN resources r ON r.id = b.resource_id " +
+                   "WHERE b.user_id = :userId AND b.booking_date >= :today AND b.status <> 'REJECTED' " +
+                   "AND (b.deleted IS NULL OR b.deleted = false) " +
+                   "ORDER BY b.booking_date, b.start_time LIMIT 1) n ON true",
+           nativeQuery = true)
+    UserBookingSummaryView summarizeForUser(@Param("userId") Long userId, @Param("today") LocalDate today);
+
+    // Active occurrences of a series grouped by rollup key, taken before a bulk UPDATE changes them
+    @Query("SELECT b.bookingDate AS bookingDate, r.type AS resourceType, b.status AS status, " +
+           "b.timeSlot AS timeSlot, COUNT(b) AS bookingCount " +
+           "FROM Booking b JOIN b.resource r " +
+           "WHERE b.series.id = :seriesId " +
+           "AND b.bookingDate >= :fromDate " +
+           "AND (b.deleted IS NULL OR b.deleted = false) " +
+           "GROUP BY b.bookingDate, r.type, b.status, b.timeSlot")
+    List<BookingRollupView> countBySeriesFrom(@Param("seriesId") Long seriesId, @Param("fromDate") LocalDate fromDate);
+
+    // Bookings that still occupy their slot, used to build the in-memory conflict index
+    @Query("SELECT b FROM Booking b WHERE b.bookingDate >= :fromDate " +
+           "AND (b.deleted IS NULL OR b.deleted = false) " +
+           "AND b.status != 'REJECTED' " +
+           "ORDER BY b.id")
+    List<Booking> findActiveFrom(@Param("fromDate") LocalDate fromDate);
+
+    // One range scan over (resource_id, booking_date) returning only the time windows
+    @Query("SELECT b.resource.id AS resourceId, b.bookingDate AS bookingDate, b.timeSlot AS timeSlot, " +
+           "b.startTime AS startTime, b.endTime AS endTime " +
+           "FROM Booking b WHERE b.resource.id = :resourceId " +
+           "AND b.bookingDate BETWEEN :fromDate AND :toDate " +
+           "AND (b.deleted IS NULL OR b.deleted = false) " +
+           "AND b.status != 'REJECTED'")
+    List<BookingSlotView> findSlotsByResourceBetween(
             @Param("resourceId") Long resourceId,
-            @Param("bookingDate") LocalDate bookingDate,
-            @Param("timeSlot") Booking.TimeSlot timeSlot
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate
+    );
+
+    @Query("SELECT b.resource.id AS resourceId, b.bookingDate AS bookingDate, b.timeSlot AS timeSlot, " +
+           "b.startTime AS startTime, b.endTime AS endTime " +
+           "FROM Booking b WHERE b.bookingDate BETWEEN :fromDate AND :toDate " +
+           "AND (b.deleted IS NULL OR b.deleted = false) " +
+           "AND b.status != 'REJECTED'")
+    List<BookingSlotView> findSlotsBetween(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    @Query("SELECT b.id FROM Booking b WHERE b.series.id = :seriesId " +
+           "AND b.bookingDate >= :fromDate " +
+           "AND (b.deleted IS NULL OR b.deleted = false)")
+    List<Long> findActiveIdsBySeriesFrom(@Param("seriesId") Long seriesId, @Param("fromDate") LocalDate fromDate);
+
+    // Cancels every remaining occurrence of a series in a single UPDATE
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.deleted = true, b.deletedAt = :deletedAt " +
+           "WHERE b.series.id = :seriesId " +
+           "AND b.bookingDate >= :fromDate " +
+           "AND (b.deleted IS NULL OR b.deleted = false)")
+    int softDeleteBySeriesFrom(
+            @Param("seriesId") Long seriesId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("deletedAt") LocalDateTime deletedAt
+    );
+
+    // Approves every pending occurrence of a series in a single UPDATE
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = 'APPROVED' " +
+           "WHERE b.series.id = :seriesId " +
+           "AND b.status = 'PENDING' " +
+           "AND (b.deleted IS NULL OR b.deleted = false)")
+    int approvePendingBySeries(@Param("seriesId") Long seriesId);
+
+    @Query("SELECT b FROM Booking b WHERE b.user.id IN :userIds " +
+           "AND b.bookingDate BETWEEN :fromDate AND :toDate " +
+           "AND (b.deleted IS NULL OR b.deleted = false) " +
+           "AND b.status != 'REJECTED'")
+    List<Booking> findActiveByUserIdsBetween(
+            @Param("userIds") Collection<Long> userIds,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate
     );
 
     @Query("SELECT b FROM Booking b WHERE b.user.id = :userId " +
@@ -0,0 +1,22 @@
+package com.ksr.crms.repository;
+
+import com.ksr.crms.entity.Booking;
+import com.ksr.crms.entity.Resource;
+
+import java.time.LocalDate;
+
+/**
+ * A count of bookings sharing one rollup key (day, resource type, status, time slot).
+ */
+public interface BookingRollupView {
+
+    LocalDate getBookingDate();
+
+    Resource.Type getResourceType();
+
+    Booking.BookingStatus getStatus();
+
+    Booking.TimeSlot getTimeSlot();
+
+    Long getBookingCount();
+}
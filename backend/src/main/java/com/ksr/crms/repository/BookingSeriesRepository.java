@@ -0,0 +1,9 @@
+package com.ksr.crms.repository;
+
+import com.ksr.crms.entity.BookingSeries;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BookingSeriesRepository extends JpaRepository<BookingSeries, Long> {
+}
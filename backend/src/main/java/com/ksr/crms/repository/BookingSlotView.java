@@ -0,0 +1,31 @@
+package com.ksr.crms.repository;
+
+import com.ksr.crms.entity.Booking;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Just the time window of a booking, for occupancy calculations that do not need the entity.
+ */
+public interface BookingSlotView {
+
+    Long getResourceId();
+
+    LocalDate getBookingDate();
+
+    Booking.TimeSlot getTimeSlot();
+
+    LocalTime getStartTime();
+
+    LocalTime getEndTime();
+
+    // Same fallback as Booking.getEffectiveStartTime for records without explicit times
+    default LocalTime getEffectiveStartTime() {
+        return getStartTime() != null ? getStartTime() : getTimeSlot().resolveStart(null);
+    }
+
+    default LocalTime getEffectiveEndTime() {
+        return getEndTime() != null ? getEndTime() : getTimeSlot().endFor(getEffectiveStartTime());
+    }
+}
@@ -0,0 +1,50 @@
+package com.ksr.crms.repository;
+
+import com.ksr.crms.entity.Booking;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+/**
+ * Optional booking filters for the paginated bookings list. Only the filters that are
+ * actually supplied end up in the WHERE clause so Postgres can pick the matching index.
+ */
+public final class BookingSpecifications {
+
+    private BookingSpecifications() {
+    }
+
+    public static Specification<Booking> notDeleted() {
+        return (root, query, cb) -> cb.or(
+                cb.isNull(root.get("deleted")),
+                cb.isFalse(root.get("deleted"))
+        );
+    }
+
+    public static Specification<Booking> hasStatus(Booking.BookingStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Booking> hasResource(Long resourceId) {
+        return (root, query, cb) -> cb.equal(root.get("resource").get("id"), resourceId);
+    }
+
+    public static Specification<Booking> bookedOnOrAfter(LocalDate fromDate) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("bookingDate"), fromDate);
+    }
+
+    public static Specification<Booking> bookedOnOrBefore(LocalDate toDate) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("bookingDate"), toDate);
+    }
+
+    // Keyset predicate for ORDER BY booking_date DESC, id DESC
+    public static Specification<Booking> before(LocalDate bookingDate, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("bookingDate"), bookingDate),
+                cb.and(
+                        cb.equal(root.get("bookingDate"), bookingDate),
+                        cb.lessThan(root.get("id"), id)
+                )
+        );
+    }
+}
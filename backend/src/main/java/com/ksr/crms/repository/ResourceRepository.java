@@ -2,8 +2,53 @@ package com.ksr.crms.repository;
 
 import com.ksr.crms.entity.Resource;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
 @Repository
-public interface ResourceRepository extends JpaRepository<Resource, Long> {
+public interface ResourceRepository extends JpaRepository<Resource, Long>, JpaSpecificationExecutor<Resource> {
+
+    @Query("SELECT r FROM Resource r WHERE r.status = 'AVAILABLE' AND (r.deleted IS NULL OR r.deleted = false)")
+    List<Resource> findBookable();
+
+    @Query("SELECT r FROM Resource r WHERE r.deleted IS NULL OR r.deleted = false ORDER BY r.id")
+    List<Resource> findAllNotDeleted();
+
+    @Query("SELECT COUNT(r) FROM Resource r WHERE r.deleted IS NULL OR r.deleted = false")
+    long countNotDeleted();
+
+    // Bookable resources with no active booking overlapping [startTime, endTime) on the date (anti-join)
+    String AVAILABLE_RESOURCES = "SELECT r FROM Resource r " +
+            "WHERE r.status = 'AVAILABLE' " +
+            "AND (r.deleted IS NULL OR r.deleted = false) " +
+            "AND r.capacity >= :minCapacity " +
+            "AND NOT EXISTS (SELECT b.id FROM Booking b WHERE b.resource = r " +
+            "AND b.bookingDate = :date " +
+            "AND b.startTime < :endTime AND b.endTime > :startTime " +
+            "AND (b.deleted IS NULL OR b.deleted = false) " +
+            "AND b.status != 'REJECTED') ";
+
+    @Query(AVAILABLE_RESOURCES + "ORDER BY r.capacity, r.name")
+    List<Resource> findAvailable(
+            @Param("date") LocalDate date,
+            @Param("startTime") LocalTime startTime,
+            @Param("endTime") LocalTime endTime,
+            @Param("minCapacity") int minCapacity
+    );
+
+    // Separate query rather than an optional parameter so the type filter can use idx_type_status
+    @Query(AVAILABLE_RESOURCES + "AND r.type = :type ORDER BY r.capacity, r.name")
+    List<Resource> findAvailableByType(
+            @Param("date") LocalDate date,
+            @Param("startTime") LocalTime startTime,
+            @Param("endTime") LocalTime endTime,
+            @Param("type") Resource.Type type,
+            @Param("minCapacity") int minCapacity
+    );
 }
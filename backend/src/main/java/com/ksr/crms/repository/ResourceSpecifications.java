@@ -0,0 +1,43 @@
+package com.ksr.crms.repository;
+
+import com.ksr.crms.entity.Resource;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Optional filters for the resource search. As with bookings, only the supplied filters reach
+ * the WHERE clause, so type/status searches use idx_type_status and name prefixes use
+ * idx_resources_lower_name (see database-update.sql).
+ */
+public final class ResourceSpecifications {
+
+    private ResourceSpecifications() {
+    }
+
+    public static Specification<Resource> notDeleted() {
+        return (root, query, cb) -> cb.or(
+                cb.isNull(root.get("deleted")),
+                cb.isFalse(root.get("deleted"))
+        );
+    }
+
+    public static Specification<Resource> hasType(Resource.Type type) {
+        return (root, query, cb) -> cb.equal(root.get("type"), type);
+    }
+
+    public static Specification<Resource> hasStatus(Resource.Status status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Resource> capacityAtLeast(int minCapacity) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("capacity"), minCapacity);
+    }
+
+    // Case-insensitive prefix match; LIKE wildcards in the prefix are matched literally
+    public static Specification<Resource> nameStartsWith(String prefix) {
+        String escaped = prefix.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), escaped + "%", '\\');
+    }
+}
@@ -0,0 +1,17 @@
+package com.ksr.crms.repository;
+
+import com.ksr.crms.entity.User;
+
+/**
+ * Just the fields the authentication filter needs to decide whether a user may still act.
+ */
+public interface UserAccessView {
+
+    Long getId();
+
+    User.Role getRole();
+
+    User.Status getStatus();
+
+    Boolean getDeleted();
+}
@@ -0,0 +1,34 @@
+package com.ksr.crms.repository;
+
+/**
+ * Per-user booking counts plus the next upcoming booking (next* columns are null if there is none).
+ * Dates and times come back as ISO text, which avoids driver-specific temporal types in native projections.
+ */
+public interface UserBookingSummaryView {
+
+    Long getTotal();
+
+    Long getUpcoming();
+
+    Long getPending();
+
+    Long getApproved();
+
+    Long getRejected();
+
+    Long getNextId();
+
+    Long getNextResourceId();
+
+    String getNextResourceName();
+
+    String getNextDate();
+
+    String getNextTimeSlot();
+
+    String getNextStartTime();
+
+    String getNextEndTime();
+
+    String getNextStatus();
+}
@@ -1,13 +1,22 @@
 package com.ksr.crms.repository;
 
+import com.ksr.crms.dto.UserDTO;
 import com.ksr.crms.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -21,4 +30,24 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Page<User> findByDeletedFalse(Pageable pageable);
     
     Page<User> findByStatusAndDeletedFalse(User.Status status, Pageable pageable);
+
+    @Query("SELECT COUNT(u) FROM User u WHERE u.deleted IS NULL OR u.deleted = false")
+    long countNotDeleted();
+
+    @Query("SELECT u.id AS id, u.role AS role, u.status AS status, u.deleted AS deleted FROM User u WHERE u.id = :id")
+    Optional<UserAccessView> findAccessById(@Param("id") Long id);
+
+    // Swaps only the hash, and only if it has not changed since it was verified, so a rehash on
+    // login cannot overwrite an update committed meanwhile
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :oldHash")
+    int replacePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+
+    // GET /users/export: unmanaged DTO rows read through a cursor, password hashes left out
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.ksr.crms.dto.UserDTO(u.id, u.name, u.email, CAST(NULL AS String), u.phone, " +
+           "u.role, u.status, u.createdAt) " +
+           "FROM User u WHERE u.deleted IS NULL OR u.deleted = false ORDER BY u.id")
+    Stream<UserDTO> streamAllForExport();
 }
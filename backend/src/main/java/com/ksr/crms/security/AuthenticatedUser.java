@@ -0,0 +1,16 @@
+package com.ksr.crms.security;
+
+import com.ksr.crms.entity.User;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Principal set by JwtAuthenticationFilter. Carries the user id so endpoints acting on
+ * "the current user" need no lookup by email; {@link #getName()} is still the email.
+ */
+public record AuthenticatedUser(Long id, String email, User.Role role) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -0,0 +1,43 @@
+package com.ksr.crms.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Picks the BCrypt cost for this host: the highest cost whose hash still finishes within the
+ * target time, but never below the configured minimum. Each extra cost step doubles the work,
+ * so a single timed hash at the minimum cost is enough to extrapolate.
+ */
+final class BCryptCostCalibrator {
+
+    private static final Logger log = LoggerFactory.getLogger(BCryptCostCalibrator.class);
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int TIMED_ROUNDS = 3;
+
+    private BCryptCostCalibrator() {
+    }
+
+    static int calibrate(long targetMillis, int minCost, int maxCost) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minCost);
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            probe.encode(SAMPLE_PASSWORD);
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < TIMED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            probe.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        double millis = best / 1_000_000.0;
+        int cost = minCost;
+        while (cost < maxCost && millis * 2 <= targetMillis) {
+            millis *= 2;
+            cost++;
+        }
+        log.info("BCrypt cost calibrated to {} (~{} ms per hash, target {} ms)", cost, Math.round(millis), targetMillis);
+        return cost;
+    }
+}
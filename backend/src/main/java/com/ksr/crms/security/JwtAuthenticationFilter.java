@@ -1,5 +1,9 @@
 package com.ksr.crms.security;
 
+import com.ksr.crms.service.TokenRevocationService;
+import com.ksr.crms.service.UserStatusCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,9 +22,14 @@ import java.util.Collections;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserStatusCache userStatusCache;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, TokenRevocationService tokenRevocationService,
+                                   UserStatusCache userStatusCache) {
         this.jwtUtil = jwtUtil;
+        this.tokenRevocationService = tokenRevocationService;
+        this.userStatusCache = userStatusCache;
     }
 
     @Override
@@ -29,25 +38,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String email = null;
-        String jwt = null;
-
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String jwt = authorizationHeader.substring(7);
+            Claims claims = null;
             try {
-                email = jwtUtil.extractUsername(jwt);
-            } catch (Exception e) {
+                // One verified parse per request; signature and expiry are both checked here
+                claims = jwtUtil.verify(jwt);
+            } catch (JwtException | IllegalArgumentException e) {
                 // Invalid token
                 logger.error("JWT token extraction failed: " + e.getMessage());
             }
-        }
 
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            if (jwtUtil.validateToken(jwt, email)) {
-                String role = jwtUtil.extractRole(jwt);
+            // Current role and status come from the cache, not the claims, so changes apply immediately
+            Long userId = null;
+            UserStatusCache.UserAccess access = null;
+            if (claims != null && claims.getSubject() != null && !tokenRevocationService.isRevoked(claims)) {
+                userId = claims.get("userId", Long.class);
+                access = userId == null ? null : userStatusCache.get(userId);
+            }
+
+            if (access != null && access.isActive()) {
+                AuthenticatedUser principal = new AuthenticatedUser(userId, claims.getSubject(), access.role());
                 
                 UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
-                        email, null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase())));
+                        principal, null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + access.role().name())));
                 
                 authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authenticationToken);
@@ -0,0 +1,211 @@
+package com.ksr.crms.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ksr.crms.config.RateLimitProperties;
+import com.ksr.crms.entity.User;
+import com.ksr.crms.exception.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token-bucket rate limiting for login and token refresh (per client IP) and booking creation
+ * (per user, sized by role; batches cost one token per booking). Runs right after
+ * JwtAuthenticationFilter so the user and role are known. Refused requests get 429 with
+ * Retry-After and never reach BCrypt or the booking checks.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> BOOKING_PATHS = Set.of(
+            "/bookings", "/bookings/auto-assign", "/bookings/series", "/bookings/batch", "/bookings/schedule");
+    // Batch endpoints and the body field listing their bookings
+    private static final Map<String, String> BATCH_ITEMS = Map.of(
+            "/bookings/batch", "bookings",
+            "/bookings/schedule", "requests");
+
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!properties.isEnabled() || !"POST".equals(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String path = request.getServletPath();
+        long waitNanos = 0;
+        if ("/auth/login".equals(path)) {
+            // The client address, given server.forward-headers-strategy=native behind the proxy
+            waitNanos = acquire("login:" + request.getRemoteAddr(), properties.getLogin(), 1);
+        } else if ("/auth/refresh".equals(path)) {
+            waitNanos = acquire("refresh:" + request.getRemoteAddr(), properties.getRefresh(), 1);
+        } else if (BOOKING_PATHS.contains(path)) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            User.Role role = authentication == null ? null : roleOf(authentication);
+            RateLimitProperties.Limit limit = role == null ? null : properties.getBooking().get(role);
+            if (limit != null) {
+                int tokens = 1;
+                String itemsField = BATCH_ITEMS.get(path);
+                if (itemsField != null) {
+                    // Batches cost one token per booking, so they cannot bypass the per-user limit
+                    CachedBodyRequest cached = new CachedBodyRequest(request);
+                    request = cached;
+                    tokens = Math.max(1, countItems(cached.body, itemsField));
+                }
+                if (tokens > limit.getCapacity()) {
+                    reject(request, response, "At most " + limit.getCapacity()
+                            + " bookings can be created in one request", 0);
+                    return;
+                }
+                waitNanos = acquire("booking:" + authentication.getName(), limit, tokens);
+            }
+        }
+
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+            reject(request, response, "Rate limit exceeded, retry in " + retryAfterSeconds + " seconds",
+                    retryAfterSeconds);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // Full buckets hold no state worth keeping, so drop them to bound memory
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private long acquire(String key, RateLimitProperties.Limit limit, int tokens) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.computeIfAbsent(key,
+                k -> new TokenBucket(limit.getCapacity(), limit.getRefillPerMinute(), now));
+        return bucket.tryAcquire(now, tokens);
+    }
+
+    // Malformed bodies count as one booking; the controller rejects them anyway
+    private int countItems(byte[] body, String field) {
+        try {
+            JsonNode items = objectMapper.readTree(body).path(field);
+            return items.isArray() ? items.size() : 1;
+        } catch (IOException e) {
+            return 1;
+        }
+    }
+
+    private static User.Role roleOf(Authentication authentication) {
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            String name = authority.getAuthority();
+            if (name != null && name.startsWith("ROLE_")) {
+                try {
+                    return User.Role.valueOf(name.substring(5));
+                } catch (IllegalArgumentException e) {
+                    // Not one of our roles
+                }
+            }
+        }
+        return null;
+    }
+
+    // retryAfterSeconds 0 means waiting does not help, so no Retry-After is sent
+    private void reject(HttpServletRequest request, HttpServletResponse response, String message,
+                        long retryAfterSeconds) throws IOException {
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                message,
+                request.getRequestURI(),
+                "RATE_LIMITED"
+        );
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        if (retryAfterSeconds > 0) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    /** Reads the body up front so it can be inspected here and read again by the controller. */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() == null
+                    ? StandardCharsets.UTF_8 : Charset.forName(getCharacterEncoding());
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.ksr.crms.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -20,9 +21,11 @@ import java.util.Arrays;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, RateLimitFilter rateLimitFilter) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     @Bean
@@ -37,20 +40,28 @@ public class SecurityConfig {
                 .requestMatchers("POST", "/users").permitAll() // Allow user registration
                 // Admin only endpoints
                 .requestMatchers("/users/**").hasRole("ADMIN")
+                .requestMatchers("POST", "/bookings/schedule").hasRole("ADMIN")
+                .requestMatchers("/bookings/export").hasRole("ADMIN")
+                .requestMatchers("/dashboard/timeseries").hasRole("ADMIN")
+                .requestMatchers("/dashboard/entity-cache").hasRole("ADMIN")
                 .requestMatchers("/resources/**").hasAnyRole("ADMIN", "STAFF", "STUDENT")
                 .requestMatchers("/bookings/**").hasAnyRole("ADMIN", "STAFF", "STUDENT")
                 .requestMatchers("/dashboard/**").hasAnyRole("ADMIN", "STAFF", "STUDENT")
                 // All other requests need authentication
                 .anyRequest().authenticated()
             )
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
+    // Cost is tuned to this host at startup; hashes made with a lower cost are upgraded on login
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password-hashing.target-ms:250}") long targetMillis,
+                                           @Value("${security.password-hashing.min-cost:10}") int minCost,
+                                           @Value("${security.password-hashing.max-cost:14}") int maxCost) {
+        return new BCryptPasswordEncoder(BCryptCostCalibrator.calibrate(targetMillis, minCost, maxCost));
     }
 
     @Bean
@@ -0,0 +1,43 @@
+package com.ksr.crms.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. Instead of a token count it stores the time at which the bucket will
+ * be full again (the GCRA formulation), so taking a token is a single compare-and-set.
+ */
+final class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    // Time at which the bucket is completely refilled; at or before "now" means full
+    private final AtomicLong fullAt;
+
+    TokenBucket(int capacity, int refillPerMinute, long now) {
+        this.nanosPerToken = 60_000_000_000L / Math.max(1, refillPerMinute);
+        this.burstNanos = nanosPerToken * Math.max(1, capacity);
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Takes {@code tokens} tokens at once; returns 0 on success, otherwise the nanoseconds until
+     * that many are available. Callers must not ask for more tokens than the capacity.
+     */
+    long tryAcquire(long now, int tokens) {
+        while (true) {
+            long current = fullAt.get();
+            long base = Math.max(current, now);
+            long next = base + nanosPerToken * tokens;
+            if (next - now > burstNanos) {
+                return next - now - burstNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    boolean isFull(long now) {
+        return fullAt.get() - now <= 0;
+    }
+}
@@ -0,0 +1,310 @@
+package com.ksr.crms.service;
+
+import com.ksr.crms.entity.Booking;
+import com.ksr.crms.exception.ConflictException;
+import com.ksr.crms.repository.BookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * In-memory view of every active (not deleted, not rejected) booking from today onwards,
+ * one interval tree per resource and day. Conflict checks are answered here instead of
+ * querying the bookings table. The index is rebuilt from the database at startup.
+ */
+@Component
+public class BookingConflictIndex implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingConflictIndex.class);
+
+    private final BookingRepository bookingRepository;
+    // Replaced as a whole by rebuild(); every other change holds the read lock so none is lost in the swap
+    private volatile Map<DayKey, IntervalTree> trees = new ConcurrentHashMap<>();
+    private volatile Map<Long, Reservation> reservationsByBookingId = new ConcurrentHashMap<>();
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    // Held by transactions that have not completed yet; the database cannot show them to rebuild()
+    private final Set<Reservation> uncommitted = ConcurrentHashMap.newKeySet();
+    // Unique tree keys, independent of booking ids so a slot can be held before the insert
+    private final AtomicLong sequence = new AtomicLong();
+
+    public BookingConflictIndex(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+    }
+
+    // Runs before the web server starts accepting requests
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Reloads the index from the database and swaps it in. Slots held by transactions that are
+     * still in flight are carried over, so a rebuild never lets two bookings through for one slot.
+     * Reservations and releases wait for the rebuild to finish.
+     */
+    public void rebuild() {
+        swapLock.writeLock().lock();
+        try {
+            List<Reservation> inFlight = List.copyOf(uncommitted);
+            List<Booking> active = bookingRepository.findActiveFrom(LocalDate.now());
+            Map<DayKey, IntervalTree> rebuiltTrees = new ConcurrentHashMap<>();
+            Map<Long, Reservation> rebuiltReservations = new ConcurrentHashMap<>();
+            List<Long> overlapping = new ArrayList<>();
+            for (Booking booking : active) {
+                DayKey dayKey = new DayKey(booking.getResource().getId(), booking.getBookingDate());
+                int start = toMinute(booking.getEffectiveStartTime());
+                int end = toMinute(booking.getEffectiveEndTime());
+                IntervalTree tree = rebuiltTrees.computeIfAbsent(dayKey, k -> new IntervalTree());
+                // Bookings made before start times existed may overlap (see database-update.sql Step 6).
+                // They stay indexed so their time remains blocked, but are reported for clean-up.
+                if (tree.findOverlap(start, end) >= 0) {
+                    overlapping.add(booking.getId());
+                }
+                Reservation reservation = new Reservation(dayKey, start, end, sequence.incrementAndGet());
+                tree.insert(start, end, reservation.key);
+                reservation.bookingId = booking.getId();
+                rebuiltReservations.put(booking.getId(), reservation);
+            }
+            // Same key as in the old trees, so a later rollback still removes them
+            int carried = 0;
+            for (Reservation reservation : inFlight) {
+                Long bookingId = reservation.bookingId;
+                if (bookingId != null && rebuiltReservations.containsKey(bookingId)) {
+                    continue; // Committed while the bookings were loaded
+                }
+                rebuiltTrees.computeIfAbsent(reservation.dayKey, k -> new IntervalTree())
+                        .insert(reservation.startMinute, reservation.endMinute, reservation.key);
+                if (bookingId != null) {
+                    rebuiltReservations.put(bookingId, reservation);
+                }
+                carried++;
+            }
+            trees = rebuiltTrees;
+            reservationsByBookingId = rebuiltReservations;
+
+            if (!overlapping.isEmpty()) {
+                log.warn("{} active bookings overlap an earlier booking of the same resource: {}",
+                        overlapping.size(), overlapping);
+            }
+            log.info("Booking conflict index rebuilt with {} active bookings and {} in-flight reservations",
+                    active.size(), carried);
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    public boolean hasConflict(Long resourceId, LocalDate date, LocalTime start, LocalTime end) {
+        IntervalTree tree = trees.get(new DayKey(resourceId, date));
+        if (tree == null) {
+            return false;
+        }
+        synchronized (tree) {
+            return tree.findOverlap(toMinute(start), toMinute(end)) >= 0;
+        }
+    }
+
+    /**
+     * Atomically checks for an overlapping booking and holds the slot. Inside a transaction the
+     * hold is released again if the transaction does not commit.
+     *
+     * @throws ConflictException if the slot overlaps an existing booking
+     */
+    public Reservation reserve(Long resourceId, LocalDate date, LocalTime start, LocalTime end) {
+        DayKey dayKey = new DayKey(resourceId, date);
+        long key = sequence.incrementAndGet();
+        int startMinute = toMinute(start);
+        int endMinute = toMinute(end);
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        Reservation reservation = new Reservation(dayKey, startMinute, endMinute, key);
+        swapLock.readLock().lock();
+        try {
+            if (tree(dayKey, tree -> {
+                if (tree.findOverlap(startMinute, endMinute) >= 0) {
+                    return false;
+                }
+                tree.insert(startMinute, endMinute, key);
+                return true;
+            }) == Boolean.FALSE) {
+                throw new ConflictException("Resource is already booked for the selected time slot");
+            }
+            if (inTransaction) {
+                uncommitted.add(reservation);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+        if (inTransaction) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        reservation.unbind();
+                        remove(reservation);
+                    }
+                    uncommitted.remove(reservation);
+                }
+            });
+        }
+        return reservation;
+    }
+
+    /**
+     * Brings one booking in line with the database, for changes committed by another instance:
+     * adds it if it is active and not indexed yet, and frees its slot otherwise.
+     */
+    public void sync(Booking booking) {
+        boolean active = (booking.getDeleted() == null || !booking.getDeleted())
+                && booking.getStatus() != Booking.BookingStatus.REJECTED
+                && !booking.getBookingDate().isBefore(LocalDate.now());
+        if (!active) {
+            releaseNow(booking.getId());
+            return;
+        }
+        swapLock.readLock().lock();
+        try {
+            if (!reservationsByBookingId.containsKey(booking.getId())) {
+                insert(booking.getResource().getId(), booking.getBookingDate(),
+                        booking.getEffectiveStartTime(), booking.getEffectiveEndTime()).bind(booking.getId());
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    /** Frees the slot held by a booking once the surrounding transaction commits. */
+    public void release(Long bookingId) {
+        TransactionCallbacks.afterCommit(() -> releaseNow(bookingId));
+    }
+
+    // Past days can no longer be booked, so their trees are dead weight
+    @Scheduled(cron = "0 5 0 * * *")
+    public void evictPastDays() {
+        LocalDate today = LocalDate.now();
+        swapLock.readLock().lock();
+        try {
+            trees.keySet().removeIf(key -> key.date().isBefore(today));
+            reservationsByBookingId.values().removeIf(reservation -> reservation.dayKey.date().isBefore(today));
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private void releaseNow(Long bookingId) {
+        swapLock.readLock().lock();
+        try {
+            Reservation reservation = reservationsByBookingId.remove(bookingId);
+            if (reservation != null) {
+                remove(reservation);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    // Callers hold the read lock
+    private Reservation insert(Long resourceId, LocalDate date, LocalTime start, LocalTime end) {
+        DayKey dayKey = new DayKey(resourceId, date);
+        Reservation reservation = new Reservation(dayKey, toMinute(start), toMinute(end), sequence.incrementAndGet());
+        tree(dayKey, tree -> {
+            tree.insert(reservation.startMinute, reservation.endMinute, reservation.key);
+            return true;
+        });
+        return reservation;
+    }
+
+    /**
+     * Runs {@code action} on the day's tree while holding its monitor, creating the tree if needed.
+     * Retries if the tree was dropped as empty between lookup and lock, so nothing is written to
+     * an orphaned tree. Callers hold the read lock.
+     */
+    private Boolean tree(DayKey dayKey, Function<IntervalTree, Boolean> action) {
+        while (true) {
+            Map<DayKey, IntervalTree> current = trees;
+            IntervalTree tree = current.computeIfAbsent(dayKey, k -> new IntervalTree());
+            synchronized (tree) {
+                if (current.get(dayKey) == tree) {
+                    return action.apply(tree);
+                }
+            }
+        }
+    }
+
+    private void remove(Reservation reservation) {
+        swapLock.readLock().lock();
+        try {
+            Map<DayKey, IntervalTree> current = trees;
+            IntervalTree tree = current.get(reservation.dayKey);
+            if (tree == null) {
+                return;
+            }
+            synchronized (tree) {
+                tree.remove(reservation.startMinute, reservation.key);
+                if (tree.isEmpty()) {
+                    current.remove(reservation.dayKey, tree);
+                }
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private static int toMinute(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private record DayKey(Long resourceId, LocalDate date) {
+    }
+
+    /** A slot held in the index, bound to its booking id once the booking has been saved. */
+    public final class Reservation {
+        private final DayKey dayKey;
+        private final int startMinute;
+        private final int endMinute;
+        private final long key;
+        private volatile Long bookingId;
+
+        private Reservation(DayKey dayKey, int startMinute, int endMinute, long key) {
+            this.dayKey = dayKey;
+            this.startMinute = startMinute;
+            this.endMinute = endMinute;
+            this.key = key;
+        }
+
+        public void bind(Long bookingId) {
+            swapLock.readLock().lock();
+            try {
+                this.bookingId = bookingId;
+                reservationsByBookingId.put(bookingId, this);
+            } finally {
+                swapLock.readLock().unlock();
+            }
+        }
+
+        private void unbind() {
+            swapLock.readLock().lock();
+            try {
+                if (bookingId != null) {
+                    reservationsByBookingId.remove(bookingId, this);
+                }
+            } finally {
+                swapLock.readLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.ksr.crms.service;
+
+import com.ksr.crms.entity.Booking;
+import com.ksr.crms.entity.Resource;
+import com.ksr.crms.repository.BookingDailyRollupRepository;
+import com.ksr.crms.repository.BookingRollupView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps booking_daily_rollups in step with the bookings table. Changes made in a transaction are
+ * summed per rollup key and written just before commit, one upsert per key, so a batch of bookings
+ * on the same day costs one statement. A full rebuild backfills the table when it is empty and
+ * runs nightly to correct any drift.
+ */
+@Component
+public class BookingRollups implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingRollups.class);
+    private static final Comparator<RollupKey> KEY_ORDER = Comparator.comparing(RollupKey::date)
+            .thenComparing(RollupKey::type)
+            .thenComparing(RollupKey::status)
+            .thenComparing(RollupKey::timeSlot);
+
+    private final BookingDailyRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public BookingRollups(BookingDailyRollupRepository rollupRepository, TransactionTemplate transactionTemplate) {
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // Runs before the web server starts accepting requests
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (rollupRepository.count() == 0) {
+            rebuild();
+        }
+    }
+
+    public void bookingCreated(Booking booking, Resource resource) {
+        record(booking.getBookingDate(), resource.getType(), booking.getStatus(), booking.getTimeSlot(), 1);
+    }
+
+    public void bookingRemoved(Booking booking) {
+        record(booking.getBookingDate(), booking.getResource().getType(), booking.getStatus(), booking.getTimeSlot(), -1);
+    }
+
+    public void statusChanged(Booking booking, Booking.BookingStatus previous) {
+        Resource.Type type = booking.getResource().getType();
+        record(booking.getBookingDate(), type, previous, booking.getTimeSlot(), -1);
+        record(booking.getBookingDate(), type, booking.getStatus(), booking.getTimeSlot(), 1);
+    }
+
+    /** Records bulk changes: the given groups move to {@code newStatus}, or are removed when it is null. */
+    public void groupsChanged(List<BookingRollupView> groups, Booking.BookingStatus newStatus) {
+        for (BookingRollupView group : groups) {
+            int count = group.getBookingCount().intValue();
+            record(group.getBookingDate(), group.getResourceType(), group.getStatus(), group.getTimeSlot(), -count);
+            if (newStatus != null) {
+                record(group.getBookingDate(), group.getResourceType(), newStatus, group.getTimeSlot(), count);
+            }
+        }
+    }
+
+    /**
+     * Recomputes every rollup row from the bookings table in one transaction. The table lock makes
+     * concurrent incremental updates wait and then apply on top of the rebuilt counts.
+     */
+    @Scheduled(cron = "0 30 3 * * *")
+    public void rebuild() {
+        Integer rows = transactionTemplate.execute(tx -> {
+            rollupRepository.lockForRebuild();
+            rollupRepository.deleteAllRows();
+            return rollupRepository.backfill();
+        });
+        log.info("Booking rollups rebuilt with {} rows", rows);
+    }
+
+    private void record(LocalDate date, Resource.Type type, Booking.BookingStatus status, Booking.TimeSlot timeSlot,
+                        int delta) {
+        if (type == null || delta == 0) {
+            return;
+        }
+        RollupKey key = new RollupKey(date, type, status, timeSlot);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionTemplate.executeWithoutResult(tx -> write(key, delta));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<RollupKey, Integer> pending = (Map<RollupKey, Integer>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            // Sorted, so concurrent transactions lock rollup rows in the same order
+            Map<RollupKey, Integer> deltas = new TreeMap<>(KEY_ORDER);
+            TransactionSynchronizationManager.bindResource(this, deltas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    deltas.forEach((k, d) -> write(k, d));
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(BookingRollups.this);
+                }
+            });
+            pending = deltas;
+        }
+        pending.merge(key, delta, Integer::sum);
+    }
+
+    private void write(RollupKey key, int delta) {
+        if (delta != 0) {
+            rollupRepository.addToCount(key.date(), key.type().name(), key.status().name(), key.timeSlot().name(), delta);
+        }
+    }
+
+    private record RollupKey(LocalDate date, Resource.Type type, Booking.BookingStatus status,
+                             Booking.TimeSlot timeSlot) {
+    }
+}
@@ -1,7 +1,12 @@
 package com.ksr.crms.service;
 
+import com.ksr.crms.dto.AssignmentRequestDTO;
+import com.ksr.crms.dto.BatchBookingResult;
 import com.ksr.crms.dto.BookingDTO;
+import com.ksr.crms.dto.BookingSeriesDTO;
+import com.ksr.crms.dto.CursorPageResponse;
 import com.ksr.crms.entity.Booking;
+import com.ksr.crms.entity.BookingSeries;
 import com.ksr.crms.entity.Resource;
 import com.ksr.crms.entity.User;
 import com.ksr.crms.exception.ConflictException;
@@ -9,27 +14,97 @@ import com.ksr.crms.exception.ResourceNotFoundException;
 import com.ksr.crms.exception.UnauthorizedException;
 import com.ksr.crms.exception.ValidationException;
 import com.ksr.crms.repository.BookingRepository;
+import com.ksr.crms.repository.BookingRollupView;
+import com.ksr.crms.repository.BookingSeriesRepository;
+import com.ksr.crms.repository.BookingSpecifications;
 import com.ksr.crms.repository.ResourceRepository;
 import com.ksr.crms.repository.UserRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Service
 public class BookingService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_SERIES_OCCURRENCES = 200;
+    private static final String OVERLAP_MESSAGE = "Resource is already booked for the selected time slot";
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Order.desc("bookingDate"), Sort.Order.desc("id"));
+    private static final List<RowExporter.Column<BookingDTO>> EXPORT_COLUMNS = List.of(
+            new RowExporter.Column<>("id", BookingDTO::getId),
+            new RowExporter.Column<>("userId", BookingDTO::getUserId),
+            new RowExporter.Column<>("userName", BookingDTO::getUserName),
+            new RowExporter.Column<>("resourceId", BookingDTO::getResourceId),
+            new RowExporter.Column<>("resourceName", BookingDTO::getResourceName),
+            new RowExporter.Column<>("seriesId", BookingDTO::getSeriesId),
+            new RowExporter.Column<>("bookingDate", BookingDTO::getBookingDate),
+            new RowExporter.Column<>("timeSlot", BookingDTO::getTimeSlot),
+            new RowExporter.Column<>("startTime", BookingDTO::getStartTime),
+            new RowExporter.Column<>("endTime", BookingDTO::getEndTime),
+            new RowExporter.Column<>("status", BookingDTO::getStatus),
+            new RowExporter.Column<>("rejectionReason", BookingDTO::getRejectionReason),
+            new RowExporter.Column<>("createdAt", BookingDTO::getCreatedAt));
+
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ResourceRepository resourceRepository;
+    private final BookingSeriesRepository bookingSeriesRepository;
+    private final BookingConflictIndex conflictIndex;
+    private final ResourceAvailabilityCache availabilityCache;
+    private final ResourceCapacityIndex capacityIndex;
+    private final ScheduleOptimizer scheduleOptimizer;
+    private final DashboardCounters dashboardCounters;
+    private final BookingRollups bookingRollups;
+    private final UserDashboardCache userDashboardCache;
+    private final CacheInvalidationBus invalidationBus;
+    private final RowExporter rowExporter;
+    private final TransactionTemplate transactionTemplate;
 
-    public BookingService(BookingRepository bookingRepository, UserRepository userRepository, ResourceRepository resourceRepository) {
+    public BookingService(BookingRepository bookingRepository, UserRepository userRepository, ResourceRepository resourceRepository,
+                          BookingSeriesRepository bookingSeriesRepository, BookingConflictIndex conflictIndex,
+                          ResourceAvailabilityCache availabilityCache, ResourceCapacityIndex capacityIndex,
+                          ScheduleOptimizer scheduleOptimizer, DashboardCounters dashboardCounters,
+                          BookingRollups bookingRollups, UserDashboardCache userDashboardCache,
+                          CacheInvalidationBus invalidationBus, RowExporter rowExporter,
+                          TransactionTemplate transactionTemplate) {
         this.bookingRepository = bookingRepository;
         this.userRepository = userRepository;
         this.resourceRepository = resourceRepository;
+        this.bookingSeriesRepository = bookingSeriesRepository;
+        this.conflictIndex = conflictIndex;
+        this.availabilityCache = availabilityCache;
+        this.capacityIndex = capacityIndex;
+        this.scheduleOptimizer = scheduleOptimizer;
+        this.dashboardCounters = dashboardCounters;
+        this.bookingRollups = bookingRollups;
+        this.userDashboardCache = userDashboardCache;
+        this.invalidationBus = invalidationBus;
+        this.rowExporter = rowExporter;
+        this.transactionTemplate = transactionTemplate;
     }
 
     @Transactional
@@ -42,49 +117,494 @@ public class BookingService {
         Resource resource = resourceRepository.findById(bookingDTO.getResourceId())
                 .orElseThrow(() -> new ResourceNotFoundException("Resource not found with id: " + bookingDTO.getResourceId()));
 
-        // Check if user is ACTIVE
-        if (user.getStatus() != User.Status.ACTIVE) {
-            throw new UnauthorizedException("Only ACTIVE users can create bookings");
+        PreparedBooking prepared = prepareBooking(bookingDTO, user, resource,
+                (userId, date) -> !bookingRepository.findByUserIdAndBookingDate(userId, date).isEmpty());
+
+        // Flush so an overlap rejected by bookings_no_overlap (booked on another node) surfaces here
+        Booking savedBooking = bookingRepository.saveAndFlush(prepared.booking());
+        prepared.reservation().bind(savedBooking.getId());
+        invalidationBus.publish(CacheInvalidationBus.Topic.BOOKING, savedBooking.getId());
+        return convertToDTO(savedBooking);
+    }
+
+    /**
+     * Books the smallest free resource of the requested type that fits the headcount. Candidates come
+     * from the in-memory capacity index and are checked against the conflict index, so only the chosen
+     * resource is loaded from the database. Not transactional: each candidate is tried in its own
+     * transaction, so a slot taken meanwhile rolls back only that attempt.
+     */
+    public BookingDTO autoAssignBooking(AssignmentRequestDTO request) {
+        BookingDTO bookingDTO = toBookingDTO(request);
+        Resource.Type type = request.getType();
+        int headcount = request.getHeadcount();
+        User user = userRepository.findById(bookingDTO.getUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + bookingDTO.getUserId()));
+
+        LocalTime startTime = bookingDTO.getTimeSlot().resolveStart(bookingDTO.getStartTime());
+        LocalTime endTime = bookingDTO.getTimeSlot().endFor(startTime);
+        for (Long resourceId : capacityIndex.candidates(type, headcount)) {
+            if (conflictIndex.hasConflict(resourceId, bookingDTO.getBookingDate(), startTime, endTime)) {
+                continue;
+            }
+            bookingDTO.setResourceId(resourceId);
+            try {
+                BookingDTO booked = transactionTemplate.execute(tx -> bookCandidate(bookingDTO, user));
+                if (booked != null) {
+                    return booked;
+                }
+            } catch (ConflictException e) {
+                // Taken by a concurrent request on this instance since the check above, try the next size up
+            } catch (DataIntegrityViolationException e) {
+                // Taken on another instance: bookings_no_overlap rejected the insert, try the next size up
+                if (!ConflictException.isBookingOverlap(e)) {
+                    throw e;
+                }
+            }
         }
+        throw new ConflictException("No " + type + " with capacity of at least " + headcount
+                + " is free for the selected time slot");
+    }
 
-        // Check if resource is AVAILABLE
-        if (resource.getStatus() != Resource.Status.AVAILABLE) {
-            throw new ValidationException("Resource is not available for booking");
+    // One auto-assign attempt on bookingDTO's resource; null if the resource no longer exists
+    private BookingDTO bookCandidate(BookingDTO bookingDTO, User user) {
+        Resource resource = resourceRepository.findById(bookingDTO.getResourceId()).orElse(null);
+        if (resource == null) {
+            return null;
         }
+        PreparedBooking prepared = prepareBooking(bookingDTO, user, resource,
+                (userId, date) -> !bookingRepository.findByUserIdAndBookingDate(userId, date).isEmpty());
+        // Flushed here so an overlap with another instance's booking fails this attempt only
+        Booking savedBooking = bookingRepository.saveAndFlush(prepared.booking());
+        prepared.reservation().bind(savedBooking.getId());
+        invalidationBus.publish(CacheInvalidationBus.Topic.BOOKING, savedBooking.getId());
+        return convertToDTO(savedBooking);
+    }
 
-        // Cannot book past date
-        if (bookingDTO.getBookingDate().isBefore(LocalDate.now())) {
-            throw new ValidationException("Cannot book past date");
+    /**
+     * Places many room requests together so that as many as possible are fulfilled, instead of
+     * first-come booking one at a time. Resources, existing bookings and students' booked days are
+     * loaded with one query each, ScheduleOptimizer solves the assignment in memory, and the placed
+     * bookings are saved in one batched transaction. Unplaced requests are reported with a reason.
+     * If bookings_no_overlap rejects the batch (a slot taken on another instance), each placement is
+     * retried in its own transaction so that only the conflicting ones fail.
+     */
+    public List<BatchBookingResult> scheduleBookings(List<AssignmentRequestDTO> requests) {
+        Map<Long, User> users = userRepository.findAllById(requests.stream()
+                        .map(AssignmentRequestDTO::getUserId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, Resource> resources = resourceRepository.findBookable().stream()
+                .collect(Collectors.toMap(Resource::getId, Function.identity()));
+        LocalDate from = requests.stream().map(AssignmentRequestDTO::getBookingDate).min(LocalDate::compareTo).orElseThrow();
+        LocalDate to = requests.stream().map(AssignmentRequestDTO::getBookingDate).max(LocalDate::compareTo).orElseThrow();
+
+        Set<ScheduleOptimizer.StudentDay> bookedStudentDays = new HashSet<>();
+        List<Long> studentIds = users.values().stream()
+                .filter(user -> user.getRole() == User.Role.STUDENT)
+                .map(User::getId)
+                .collect(Collectors.toList());
+        if (!studentIds.isEmpty()) {
+            for (Booking existing : bookingRepository.findActiveByUserIdsBetween(studentIds, from, to)) {
+                bookedStudentDays.add(new ScheduleOptimizer.StudentDay(existing.getUser().getId(), existing.getBookingDate()));
+            }
+        }
+        List<ScheduleOptimizer.Occupied> occupied = bookingRepository.findSlotsBetween(from, to).stream()
+                .map(slot -> new ScheduleOptimizer.Occupied(slot.getResourceId(), slot.getBookingDate(),
+                        toMinute(slot.getEffectiveStartTime()), toMinute(slot.getEffectiveEndTime())))
+                .collect(Collectors.toList());
+        List<ScheduleOptimizer.Candidate> candidates = resources.values().stream()
+                .filter(resource -> resource.getType() != null)
+                .map(resource -> new ScheduleOptimizer.Candidate(resource.getId(), resource.getType(), resource.getCapacity()))
+                .collect(Collectors.toList());
+
+        BatchBookingResult[] results = new BatchBookingResult[requests.size()];
+        List<ScheduleOptimizer.Request> model = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            AssignmentRequestDTO request = requests.get(i);
+            try {
+                User user = users.get(request.getUserId());
+                if (user == null) {
+                    throw new ResourceNotFoundException("User not found with id: " + request.getUserId());
+                }
+                TimeWindow window = validateRequest(toBookingDTO(request), user);
+                model.add(new ScheduleOptimizer.Request(i, user.getId(), user.getRole() == User.Role.STUDENT,
+                        request.getBookingDate(), toMinute(window.start()), toMinute(window.end()),
+                        request.getType(), request.getHeadcount()));
+            } catch (ResourceNotFoundException | UnauthorizedException | ValidationException e) {
+                results[i] = BatchBookingResult.failed(i, e.getMessage());
+            }
         }
 
-        // Students can only book 1 booking per day
+        ScheduleOptimizer.Result solution = scheduleOptimizer.solve(model, candidates, occupied, bookedStudentDays);
+        solution.unplaced().forEach((index, reason) -> results[index] = BatchBookingResult.failed(index, reason));
+
+        Map<Integer, Long> placements = solution.placements();
+        List<Integer> placed = new ArrayList<>(new TreeMap<>(placements).keySet());
+        try {
+            transactionTemplate.executeWithoutResult(tx ->
+                    savePlacements(requests, placed, placements, users, resources, results));
+            return Arrays.asList(results);
+        } catch (DataIntegrityViolationException e) {
+            if (!ConflictException.isBookingOverlap(e)) {
+                throw e;
+            }
+        }
+        for (int index : placed) {
+            try {
+                transactionTemplate.executeWithoutResult(tx ->
+                        savePlacements(requests, List.of(index), placements, users, resources, results));
+            } catch (DataIntegrityViolationException e) {
+                if (!ConflictException.isBookingOverlap(e)) {
+                    throw e;
+                }
+                results[index] = BatchBookingResult.failed(index, OVERLAP_MESSAGE);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    // Saves the placements of the requests at indexes in the current transaction, with one flush
+    private void savePlacements(List<AssignmentRequestDTO> requests, List<Integer> indexes, Map<Integer, Long> placements,
+                                Map<Long, User> users, Map<Long, Resource> resources, BatchBookingResult[] results) {
+        List<PreparedBooking> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int index : indexes) {
+            AssignmentRequestDTO request = requests.get(index);
+            Long resourceId = placements.get(index);
+            BookingDTO bookingDTO = toBookingDTO(request);
+            bookingDTO.setResourceId(resourceId);
+            try {
+                // The optimizer has already applied the student one-per-day rule
+                accepted.add(prepareBooking(bookingDTO, users.get(request.getUserId()),
+                        resources.get(resourceId), (userId, date) -> false));
+                acceptedIndexes.add(index);
+            } catch (ValidationException | ConflictException e) {
+                // Booked by someone else since the model was loaded
+                results[index] = BatchBookingResult.failed(index, e.getMessage());
+            }
+        }
+
+        List<Booking> saved = bookingRepository.saveAll(accepted.stream()
+                .map(PreparedBooking::booking)
+                .collect(Collectors.toList()));
+        bookingRepository.flush();
+        for (int i = 0; i < saved.size(); i++) {
+            Booking booking = saved.get(i);
+            accepted.get(i).reservation().bind(booking.getId());
+            invalidationBus.publish(CacheInvalidationBus.Topic.BOOKING, booking.getId());
+            int index = acceptedIndexes.get(i);
+            results[index] = BatchBookingResult.created(index, convertToDTO(booking));
+        }
+    }
+
+    private static int toMinute(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    /**
+     * Validates and inserts many bookings in one transaction. Users and resources are loaded once per
+     * distinct id, every item is checked against existing bookings and the items before it, and the
+     * accepted ones are written with JDBC batch inserts. Invalid items are reported, not thrown.
+     * If bookings_no_overlap rejects the batch (a slot taken on another instance), each item is
+     * retried in its own transaction so that only the conflicting ones fail.
+     */
+    public List<BatchBookingResult> createBookings(List<BookingDTO> bookingDTOs) {
+        Map<Long, User> users = userRepository.findAllById(bookingDTOs.stream()
+                        .map(BookingDTO::getUserId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, Resource> resources = resourceRepository.findAllById(bookingDTOs.stream()
+                        .map(BookingDTO::getResourceId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Resource::getId, Function.identity()));
+
+        // Days on which the students in this batch already hold a booking, including earlier items
+        Set<String> studentDays = new HashSet<>();
+        List<Long> studentIds = users.values().stream()
+                .filter(user -> user.getRole() == User.Role.STUDENT)
+                .map(User::getId)
+                .collect(Collectors.toList());
+        if (!studentIds.isEmpty()) {
+            LocalDate from = bookingDTOs.stream().map(BookingDTO::getBookingDate).min(LocalDate::compareTo).orElseThrow();
+            LocalDate to = bookingDTOs.stream().map(BookingDTO::getBookingDate).max(LocalDate::compareTo).orElseThrow();
+            for (Booking existing : bookingRepository.findActiveByUserIdsBetween(studentIds, from, to)) {
+                studentDays.add(existing.getUser().getId() + ":" + existing.getBookingDate());
+            }
+        }
+
+        List<Integer> all = IntStream.range(0, bookingDTOs.size()).boxed().collect(Collectors.toList());
+        try {
+            BatchBookingResult[] results = new BatchBookingResult[bookingDTOs.size()];
+            Set<String> batchStudentDays = new HashSet<>(studentDays);
+            transactionTemplate.executeWithoutResult(tx ->
+                    saveBookings(bookingDTOs, all, users, resources, batchStudentDays, results));
+            return Arrays.asList(results);
+        } catch (DataIntegrityViolationException e) {
+            if (!ConflictException.isBookingOverlap(e)) {
+                throw e;
+            }
+        }
+
+        BatchBookingResult[] results = new BatchBookingResult[bookingDTOs.size()];
+        for (int index : all) {
+            try {
+                transactionTemplate.executeWithoutResult(tx ->
+                        saveBookings(bookingDTOs, List.of(index), users, resources, studentDays, results));
+            } catch (DataIntegrityViolationException e) {
+                if (!ConflictException.isBookingOverlap(e)) {
+                    throw e;
+                }
+                // Only this item can have added its student's day, and it was not saved
+                BookingDTO bookingDTO = bookingDTOs.get(index);
+                studentDays.remove(bookingDTO.getUserId() + ":" + bookingDTO.getBookingDate());
+                results[index] = BatchBookingResult.failed(index, OVERLAP_MESSAGE);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    // Validates the items at indexes and saves the accepted ones in the current transaction, with one flush
+    private void saveBookings(List<BookingDTO> bookingDTOs, List<Integer> indexes, Map<Long, User> users,
+                              Map<Long, Resource> resources, Set<String> studentDays, BatchBookingResult[] results) {
+        List<PreparedBooking> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i : indexes) {
+            BookingDTO bookingDTO = bookingDTOs.get(i);
+            try {
+                User user = users.get(bookingDTO.getUserId());
+                if (user == null) {
+                    throw new ResourceNotFoundException("User not found with id: " + bookingDTO.getUserId());
+                }
+                Resource resource = resources.get(bookingDTO.getResourceId());
+                if (resource == null) {
+                    throw new ResourceNotFoundException("Resource not found with id: " + bookingDTO.getResourceId());
+                }
+                PreparedBooking prepared = prepareBooking(bookingDTO, user, resource,
+                        (userId, date) -> studentDays.contains(userId + ":" + date));
+                if (user.getRole() == User.Role.STUDENT) {
+                    studentDays.add(user.getId() + ":" + bookingDTO.getBookingDate());
+                }
+                accepted.add(prepared);
+                acceptedIndexes.add(i);
+            } catch (ResourceNotFoundException | UnauthorizedException | ValidationException | ConflictException e) {
+                results[i] = BatchBookingResult.failed(i, e.getMessage());
+            }
+        }
+
+        List<Booking> saved = bookingRepository.saveAll(accepted.stream()
+                .map(PreparedBooking::booking)
+                .collect(Collectors.toList()));
+        bookingRepository.flush();
+
+        for (int i = 0; i < saved.size(); i++) {
+            Booking booking = saved.get(i);
+            accepted.get(i).reservation().bind(booking.getId());
+            invalidationBus.publish(CacheInvalidationBus.Topic.BOOKING, booking.getId());
+            int index = acceptedIndexes.get(i);
+            results[index] = BatchBookingResult.created(index, convertToDTO(booking));
+        }
+    }
+
+    /**
+     * Creates a recurring series and all of its occurrences at once. Every occurrence is checked
+     * against the in-memory conflict index; if any of them clashes nothing is saved and the
+     * conflicting dates are reported. Occurrences are written with JDBC batch inserts.
+     */
+    @Transactional
+    public BookingSeriesDTO createSeries(BookingSeriesDTO seriesDTO) {
+        List<LocalDate> dates = expandSeries(seriesDTO.getFrequency(), seriesDTO.getStartDate(), seriesDTO.getEndDate());
+
+        User user = userRepository.findById(seriesDTO.getUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + seriesDTO.getUserId()));
+        Resource resource = resourceRepository.findById(seriesDTO.getResourceId())
+                .orElseThrow(() -> new ResourceNotFoundException("Resource not found with id: " + seriesDTO.getResourceId()));
+
+        // One range query covers the student one-per-day rule for every occurrence
+        Set<LocalDate> bookedDays = new HashSet<>();
         if (user.getRole() == User.Role.STUDENT) {
-            List<Booking> existingBookings = bookingRepository.findByUserIdAndBookingDate(
-                    user.getId(),
-                    bookingDTO.getBookingDate()
-            );
-            if (!existingBookings.isEmpty()) {
-                throw new ValidationException("Students can only book one resource per day");
+            for (Booking existing : bookingRepository.findActiveByUserIdsBetween(
+                    List.of(user.getId()), seriesDTO.getStartDate(), seriesDTO.getEndDate())) {
+                bookedDays.add(existing.getBookingDate());
             }
         }
 
-        // Check for conflicting bookings
-        List<Booking> conflicts = bookingRepository.findConflictingBookings(
-                bookingDTO.getResourceId(),
-                bookingDTO.getBookingDate(),
-                bookingDTO.getTimeSlot()
-        );
+        BookingSeries series = new BookingSeries();
+        series.setUser(user);
+        series.setResource(resource);
+        series.setTimeSlot(seriesDTO.getTimeSlot());
+        series.setFrequency(seriesDTO.getFrequency());
+        series.setStartDate(seriesDTO.getStartDate());
+        series.setEndDate(seriesDTO.getEndDate());
+        series.setDeleted(false);
 
+        List<PreparedBooking> occurrences = new ArrayList<>(dates.size());
+        List<LocalDate> conflicts = new ArrayList<>();
+        for (LocalDate date : dates) {
+            BookingDTO occurrence = new BookingDTO();
+            occurrence.setUserId(user.getId());
+            occurrence.setResourceId(resource.getId());
+            occurrence.setBookingDate(date);
+            occurrence.setTimeSlot(seriesDTO.getTimeSlot());
+            occurrence.setStartTime(seriesDTO.getStartTime());
+            try {
+                PreparedBooking prepared = prepareBooking(occurrence, user, resource,
+                        (userId, day) -> bookedDays.contains(day));
+                prepared.booking().setSeries(series);
+                occurrences.add(prepared);
+            } catch (ConflictException e) {
+                conflicts.add(date);
+            }
+        }
+        // Throwing rolls the transaction back, which also frees the slots held so far
         if (!conflicts.isEmpty()) {
-            throw new ConflictException("Resource is already booked for the selected time slot");
+            throw new ConflictException("Resource is already booked on: " + conflicts);
         }
 
+        Booking first = occurrences.get(0).booking();
+        series.setStartTime(first.getStartTime());
+        series.setEndTime(first.getEndTime());
+        BookingSeries savedSeries = bookingSeriesRepository.save(series);
+
+        List<Booking> saved = bookingRepository.saveAll(occurrences.stream()
+                .map(PreparedBooking::booking)
+                .collect(Collectors.toList()));
+        bookingRepository.flush();
+        for (int i = 0; i < saved.size(); i++) {
+            occurrences.get(i).reservation().bind(saved.get(i).getId());
+            invalidationBus.publish(CacheInvalidationBus.Topic.BOOKING, saved.get(i).getId());
+        }
+
+        BookingSeriesDTO dto = convertSeriesToDTO(savedSeries);
+        dto.setBookings(saved.stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList()));
+        return dto;
+    }
+
+    // Cancels the series and all of its occurrences from today onwards with one bulk UPDATE
+    @Transactional
+    public void cancelSeries(Long seriesId) {
+        BookingSeries series = bookingSeriesRepository.findById(seriesId)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking series not found with id: " + seriesId));
+
+        LocalDate today = LocalDate.now();
+        List<Long> cancelledIds = bookingRepository.findActiveIdsBySeriesFrom(seriesId, today);
+        List<BookingRollupView> cancelledGroups = bookingRepository.countBySeriesFrom(seriesId, today);
+        bookingRepository.softDeleteBySeriesFrom(seriesId, today, LocalDateTime.now());
+        dashboardCounters.bookingsRemoved(cancelledIds.size(), countWithStatus(cancelledGroups, Booking.BookingStatus.APPROVED));
+        bookingRollups.groupsChanged(cancelledGroups, null);
+        userDashboardCache.evict(series.getUser().getId());
+        cancelledIds.forEach(conflictIndex::release);
+        cancelledIds.forEach(id -> invalidationBus.publish(CacheInvalidationBus.Topic.BOOKING, id));
+        availabilityCache.evictAll();
+
+        series.setDeleted(true);
+        series.setDeletedAt(LocalDateTime.now());
+        bookingSeriesRepository.save(series);
+    }
+
+    // Approves every pending occurrence of the series with one bulk UPDATE
+    @Transactional
+    public BookingSeriesDTO approveSeries(Long seriesId) {
+        BookingSeries series = bookingSeriesRepository.findById(seriesId)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking series not found with id: " + seriesId));
+
+        List<BookingRollupView> pendingGroups = bookingRepository.countBySeriesFrom(seriesId, series.getStartDate()).stream()
+                .filter(group -> group.getStatus() == Booking.BookingStatus.PENDING)
+                .collect(Collectors.toList());
+        // The bulk update clears the persistence context, detaching series and its lazy resource
+        BookingSeriesDTO seriesDTO = convertSeriesToDTO(series);
+        int approved = bookingRepository.approvePendingBySeries(seriesId);
+        if (approved == 0) {
+            throw new ValidationException("Series has no pending bookings to approve");
+        }
+        dashboardCounters.bookingsApproved(approved);
+        bookingRollups.groupsChanged(pendingGroups, Booking.BookingStatus.APPROVED);
+        userDashboardCache.evict(seriesDTO.getUserId());
+        invalidationBus.publish(CacheInvalidationBus.Topic.USER, seriesDTO.getUserId());
+        return seriesDTO;
+    }
+
+    private static int countWithStatus(List<BookingRollupView> groups, Booking.BookingStatus status) {
+        return groups.stream()
+                .filter(group -> group.getStatus() == status)
+                .mapToInt(group -> group.getBookingCount().intValue())
+                .sum();
+    }
+
+    private List<LocalDate> expandSeries(BookingSeries.Frequency frequency, LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new ValidationException("End date must not be before start date");
+        }
+        Period step = frequency == BookingSeries.Frequency.DAILY ? Period.ofDays(1) : Period.ofWeeks(1);
+        List<LocalDate> dates = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plus(step)) {
+            if (dates.size() == MAX_SERIES_OCCURRENCES) {
+                throw new ValidationException("A series can have at most " + MAX_SERIES_OCCURRENCES + " occurrences");
+            }
+            dates.add(date);
+        }
+        return dates;
+    }
+
+    private BookingSeriesDTO convertSeriesToDTO(BookingSeries series) {
+        BookingSeriesDTO dto = new BookingSeriesDTO();
+        dto.setId(series.getId());
+        dto.setUserId(series.getUser().getId());
+        dto.setResourceId(series.getResource().getId());
+        dto.setResourceName(series.getResource().getName());
+        dto.setTimeSlot(series.getTimeSlot());
+        dto.setStartTime(series.getStartTime());
+        dto.setEndTime(series.getEndTime());
+        dto.setFrequency(series.getFrequency());
+        dto.setStartDate(series.getStartDate());
+        dto.setEndDate(series.getEndDate());
+        dto.setCreatedAt(series.getCreatedAt());
+        return dto;
+    }
+
+    private BookingDTO toBookingDTO(AssignmentRequestDTO request) {
+        BookingDTO bookingDTO = new BookingDTO();
+        bookingDTO.setUserId(request.getUserId());
+        bookingDTO.setBookingDate(request.getBookingDate());
+        bookingDTO.setTimeSlot(request.getTimeSlot());
+        bookingDTO.setStartTime(request.getStartTime());
+        return bookingDTO;
+    }
+
+    /**
+     * Applies the booking rules for one request and holds its slot in the conflict index.
+     * {@code hasBookingOnDay} tells whether a student already has a booking on the requested day.
+     */
+    private PreparedBooking prepareBooking(BookingDTO bookingDTO, User user, Resource resource,
+                                           BiPredicate<Long, LocalDate> hasBookingOnDay) {
+        TimeWindow window = validateRequest(bookingDTO, user);
+
+        // Check if resource is AVAILABLE
+        if (resource.getStatus() != Resource.Status.AVAILABLE) {
+            throw new ValidationException("Resource is not available for booking");
+        }
+
+        // Students can only book 1 booking per day
+        if (user.getRole() == User.Role.STUDENT && hasBookingOnDay.test(user.getId(), bookingDTO.getBookingDate())) {
+            throw new ValidationException("Students can only book one resource per day");
+        }
+
+        // Check for overlapping bookings in memory and hold the slot until the transaction completes.
+        // The database exclusion constraint remains the final word across replicas.
+        BookingConflictIndex.Reservation reservation = conflictIndex.reserve(
+                resource.getId(),
+                bookingDTO.getBookingDate(),
+                window.start(),
+                window.end()
+        );
+        availabilityCache.evictDay(bookingDTO.getBookingDate());
+
         // Create booking - PENDING for students, APPROVED for staff and admin
         Booking booking = new Booking();
         booking.setUser(user);
         booking.setResource(resource);
         booking.setBookingDate(bookingDTO.getBookingDate());
         booking.setTimeSlot(bookingDTO.getTimeSlot());
+        booking.setStartTime(window.start());
+        booking.setEndTime(window.end());
         
         // Staff and Admin bookings are auto-approved, student bookings need approval
         if (user.getRole() == User.Role.STAFF || user.getRole() == User.Role.ADMIN) {
@@ -93,6 +613,26 @@ public class BookingService {
             booking.setStatus(Booking.BookingStatus.PENDING);
         }
         
+        booking.setDeleted(false);
+        // Every prepared booking is saved in the caller's transaction, so the counts land on commit
+        dashboardCounters.bookingsAdded(1, booking.getStatus() == Booking.BookingStatus.APPROVED ? 1 : 0);
+        bookingRollups.bookingCreated(booking, resource);
+        userDashboardCache.evict(user.getId());
+        return new PreparedBooking(booking, reservation);
+    }
+
+    // Rules that depend on the requester, date and slot but not on the resource
+    private TimeWindow validateRequest(BookingDTO bookingDTO, User user) {
+        // Check if user is ACTIVE
+        if (user.getStatus() != User.Status.ACTIVE) {
+            throw new UnauthorizedException("Only ACTIVE users can create bookings");
+        }
+
+        // Cannot book past date
+        if (bookingDTO.getBookingDate().isBefore(LocalDate.now())) {
+            throw new ValidationException("Cannot book past date");
+        }
+
         // Validate time slot for students (1-3 hours only)
         // Staff and Admin can book any duration
         if (user.getRole() == User.Role.STUDENT) {
@@ -102,18 +642,68 @@ public class BookingService {
             }
             // Allow FULL_DAY, MORNING, AFTERNOON for backward compatibility
         }
-        
-        booking.setDeleted(false);
 
-        Booking savedBooking = bookingRepository.save(booking);
-        return convertToDTO(savedBooking);
+        // Resolve the actual time window and make sure it fits the campus day
+        LocalTime startTime = bookingDTO.getTimeSlot().resolveStart(bookingDTO.getStartTime());
+        LocalTime endTime = bookingDTO.getTimeSlot().endFor(startTime);
+        if (startTime.isBefore(Booking.DAY_START) || endTime.isAfter(Booking.DAY_END) || !endTime.isAfter(startTime)) {
+            throw new ValidationException("Bookings must be between " + Booking.DAY_START + " and " + Booking.DAY_END);
+        }
+        return new TimeWindow(startTime, endTime);
+    }
+
+    private record TimeWindow(LocalTime start, LocalTime end) {
     }
 
-    public List<BookingDTO> getAllBookings() {
-        return bookingRepository.findAll().stream()
-                .filter(booking -> booking.getDeleted() == null || !booking.getDeleted()) // Handle null deleted field
+    private record PreparedBooking(Booking booking, BookingConflictIndex.Reservation reservation) {
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<BookingDTO> getAllBookings(String cursor, int size, String status, Long resourceId,
+                                                         LocalDate fromDate, LocalDate toDate) {
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            throw new ValidationException("fromDate must not be after toDate");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        Specification<Booking> spec = BookingSpecifications.notDeleted();
+        if (status != null) {
+            spec = spec.and(BookingSpecifications.hasStatus(parseStatus(status)));
+        }
+        if (resourceId != null) {
+            spec = spec.and(BookingSpecifications.hasResource(resourceId));
+        }
+        if (fromDate != null) {
+            spec = spec.and(BookingSpecifications.bookedOnOrAfter(fromDate));
+        }
+        if (toDate != null) {
+            spec = spec.and(BookingSpecifications.bookedOnOrBefore(toDate));
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            BookingCursor position = BookingCursor.decode(cursor);
+            spec = spec.and(BookingSpecifications.before(position.bookingDate(), position.id()));
+        }
+
+        // Fetch one extra row to know whether another page exists without a COUNT(*).
+        // user and resource are fetch-joined so convertToDTO does not trigger lazy loads per row.
+        List<Booking> rows = bookingRepository.findBy(spec, query -> query
+                .project("user", "resource")
+                .sortBy(KEYSET_SORT)
+                .limit(pageSize + 1)
+                .all());
+
+        boolean hasNext = rows.size() > pageSize;
+        List<Booking> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            Booking last = page.get(page.size() - 1);
+            nextCursor = new BookingCursor(last.getBookingDate(), last.getId()).encode();
+        }
+
+        List<BookingDTO> bookings = page.stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
+        return new CursorPageResponse<>(bookings, pageSize, nextCursor);
     }
 
     public BookingDTO getBookingById(Long id) {
@@ -122,11 +712,20 @@ public class BookingService {
         return convertToDTO(booking);
     }
 
+    @Transactional(readOnly = true)
     public List<BookingDTO> getBookingsByUserId(Long userId) {
-        return bookingRepository.findByUserId(userId).stream()
-                .filter(booking -> booking.getDeleted() == null || !booking.getDeleted()) // Handle null deleted field
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return bookingRepository.findDTOsByUserId(userId);
+    }
+
+    /**
+     * Writes every non-deleted booking to {@code out}, ordered by id. Rows are streamed from a
+     * database cursor, so memory use is the same for any number of bookings.
+     */
+    @Transactional(readOnly = true)
+    public void exportBookings(RowExporter.Format format, OutputStream out) throws IOException {
+        try (Stream<BookingDTO> rows = bookingRepository.streamAllForExport()) {
+            rowExporter.export(rows, format, EXPORT_COLUMNS, out);
+        }
     }
 
     @Transactional
@@ -139,10 +738,19 @@ public class BookingService {
             throw new ValidationException("Cannot cancel past bookings");
         }
 
+        if (booking.getDeleted() == null || !booking.getDeleted()) {
+            dashboardCounters.bookingsRemoved(1, booking.getStatus() == Booking.BookingStatus.APPROVED ? 1 : 0);
+            bookingRollups.bookingRemoved(booking);
+            userDashboardCache.evict(booking.getUser().getId());
+        }
+
         // Soft delete
         booking.setDeleted(true);
         booking.setDeletedAt(LocalDateTime.now());
         bookingRepository.save(booking);
+        conflictIndex.release(booking.getId());
+        availabilityCache.evictDay(booking.getBookingDate());
+        invalidationBus.publish(CacheInvalidationBus.Topic.BOOKING, booking.getId());
     }
 
     @Transactional
@@ -156,6 +764,10 @@ public class BookingService {
 
         booking.setStatus(Booking.BookingStatus.APPROVED);
         Booking updatedBooking = bookingRepository.save(booking);
+        dashboardCounters.bookingsApproved(1);
+        bookingRollups.statusChanged(updatedBooking, Booking.BookingStatus.PENDING);
+        userDashboardCache.evict(updatedBooking.getUser().getId());
+        invalidationBus.publish(CacheInvalidationBus.Topic.BOOKING, updatedBooking.getId());
         return convertToDTO(updatedBooking);
     }
 
@@ -175,9 +787,44 @@ public class BookingService {
         booking.setStatus(Booking.BookingStatus.REJECTED);
         booking.setRejectionReason(rejectionReason);
         Booking updatedBooking = bookingRepository.save(booking);
+        bookingRollups.statusChanged(updatedBooking, Booking.BookingStatus.PENDING);
+        userDashboardCache.evict(updatedBooking.getUser().getId());
+        conflictIndex.release(updatedBooking.getId());
+        availabilityCache.evictDay(updatedBooking.getBookingDate());
+        invalidationBus.publish(CacheInvalidationBus.Topic.BOOKING, updatedBooking.getId());
         return convertToDTO(updatedBooking);
     }
 
+    private Booking.BookingStatus parseStatus(String status) {
+        try {
+            return Booking.BookingStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid booking status: " + status);
+        }
+    }
+
+    // Opaque keyset cursor: the (bookingDate, id) of the last row on the previous page
+    private record BookingCursor(LocalDate bookingDate, Long id) {
+
+        String encode() {
+            String raw = bookingDate + ":" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static BookingCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf(':');
+                return new BookingCursor(
+                        LocalDate.parse(raw.substring(0, separator)),
+                        Long.parseLong(raw.substring(separator + 1))
+                );
+            } catch (RuntimeException e) {
+                throw new ValidationException("Invalid cursor");
+            }
+        }
+    }
+
     private BookingDTO convertToDTO(Booking booking) {
         BookingDTO dto = new BookingDTO();
         dto.setId(booking.getId());
@@ -185,8 +832,11 @@ public class BookingService {
         dto.setUserName(booking.getUser().getName());
         dto.setResourceId(booking.getResource().getId());
         dto.setResourceName(booking.getResource().getName());
+        dto.setSeriesId(booking.getSeries() != null ? booking.getSeries().getId() : null);
         dto.setBookingDate(booking.getBookingDate());
         dto.setTimeSlot(booking.getTimeSlot());
+        dto.setStartTime(booking.getEffectiveStartTime());
+        dto.setEndTime(booking.getEffectiveEndTime());
         dto.setStatus(booking.getStatus());
         dto.setRejectionReason(booking.getRejectionReason());
         dto.setCreatedAt(booking.getCreatedAt());
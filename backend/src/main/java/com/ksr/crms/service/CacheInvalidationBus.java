@@ -0,0 +1,247 @@
+package com.ksr.crms.service;
+
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongConsumer;
+
+/**
+ * Tells the other instances which cached rows changed, over Postgres LISTEN/NOTIFY. Events
+ * published in a transaction are sent with pg_notify on the same connection just before commit;
+ * Postgres delivers them only if the transaction commits. Each instance listens on its own
+ * connection, outside the pool, and hands every id to the subscribers of its topic. An
+ * instance skips its own events because its write paths have already updated its caches.
+ */
+@Component
+public class CacheInvalidationBus implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+    private static final String CHANNEL = "crms_cache_invalidation";
+    // NOTIFY payloads must stay under 8000 bytes
+    private static final int MAX_PAYLOAD_LENGTH = 7000;
+    private static final int POLL_TIMEOUT_MS = 10_000;
+    private static final long RECONNECT_DELAY_MS = 5_000;
+
+    public enum Topic {
+        RESOURCE, USER, BOOKING
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final boolean enabled;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<Topic, List<LongConsumer>> subscribers = new EnumMap<>(Topic.class);
+    private final List<Runnable> resyncHandlers = new CopyOnWriteArrayList<>();
+    private volatile boolean running;
+    private volatile Connection listenConnection;
+    private Thread listener;
+
+    public CacheInvalidationBus(JdbcTemplate jdbcTemplate, DataSourceProperties dataSourceProperties,
+                                @Value("${cache-invalidation.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.enabled = enabled;
+        for (Topic topic : Topic.values()) {
+            subscribers.put(topic, new CopyOnWriteArrayList<>());
+        }
+    }
+
+    // Runs before the web server starts accepting requests
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+        closeQuietly(listenConnection);
+    }
+
+    /** Calls {@code handler} with the id of every row of the topic changed by another instance. */
+    public void subscribe(Topic topic, LongConsumer handler) {
+        subscribers.get(topic).add(handler);
+    }
+
+    /**
+     * Calls {@code handler} after the listening connection was re-established. Events sent while
+     * it was down are lost, so subscribers should drop or reload everything they cache.
+     */
+    public void onResync(Runnable handler) {
+        resyncHandlers.add(handler);
+    }
+
+    /** Announces a changed row; inside a transaction the event is only delivered if it commits. */
+    public void publish(Topic topic, Long id) {
+        if (!enabled || id == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(topic, Set.of(id));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<Topic, Set<Long>> pending = (Map<Topic, Set<Long>>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<Topic, Set<Long>> events = new EnumMap<>(Topic.class);
+            TransactionSynchronizationManager.bindResource(this, events);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    events.forEach(CacheInvalidationBus.this::send);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationBus.this);
+                }
+            });
+            pending = events;
+        }
+        pending.computeIfAbsent(topic, t -> new LinkedHashSet<>()).add(id);
+    }
+
+    // Payload: "<node id>|<topic>|<id>,<id>,...", split so each stays under the NOTIFY size limit
+    private void send(Topic topic, Set<Long> ids) {
+        String prefix = nodeId + "|" + topic.name() + "|";
+        StringBuilder payload = new StringBuilder(prefix);
+        for (Long id : ids) {
+            if (payload.length() > MAX_PAYLOAD_LENGTH) {
+                notify(payload.toString());
+                payload.setLength(prefix.length());
+            }
+            if (payload.length() > prefix.length()) {
+                payload.append(',');
+            }
+            payload.append(id);
+        }
+        notify(payload.toString());
+    }
+
+    private void notify(String payload) {
+        jdbcTemplate.execute("SELECT pg_notify(?, ?)", (PreparedStatementCallback<Boolean>) statement -> {
+            statement.setString(1, CHANNEL);
+            statement.setString(2, payload);
+            return statement.execute();
+        });
+    }
+
+    private void listen() {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                listenConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                log.info("Listening for cache invalidations on channel {}", CHANNEL);
+                if (connectedBefore) {
+                    resyncHandlers.forEach(this::runSafely);
+                }
+                connectedBefore = true;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Cache invalidation listener lost its connection, retrying in {} ms: {}",
+                            RECONNECT_DELAY_MS, e.getMessage());
+                    sleep();
+                }
+            } finally {
+                listenConnection = null;
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        String[] parts = payload.split("\\|", 3);
+        if (parts.length != 3 || parts[0].equals(nodeId)) {
+            return;
+        }
+        Topic topic;
+        try {
+            topic = Topic.valueOf(parts[1]);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring cache invalidation for unknown topic {}", parts[1]);
+            return;
+        }
+        List<Long> ids = new ArrayList<>();
+        for (String id : parts[2].split(",")) {
+            ids.add(Long.parseLong(id));
+        }
+        for (LongConsumer handler : subscribers.get(topic)) {
+            for (Long id : ids) {
+                runSafely(() -> handler.accept(id));
+            }
+        }
+    }
+
+    private void runSafely(Runnable handler) {
+        try {
+            handler.run();
+        } catch (RuntimeException e) {
+            log.warn("Cache invalidation handler failed", e);
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            // Shutting down, nothing left to do
+        }
+    }
+}
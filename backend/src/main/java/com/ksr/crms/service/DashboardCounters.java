@@ -0,0 +1,110 @@
+package com.ksr.crms.service;
+
+import com.ksr.crms.repository.BookingRepository;
+import com.ksr.crms.repository.ResourceRepository;
+import com.ksr.crms.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dashboard totals kept in memory. The service write paths report their changes, which are
+ * applied after commit; a periodic reconcile against the database corrects any drift, e.g.
+ * from writes made by other instances. Soft-deleted rows are not counted.
+ */
+@Component
+public class DashboardCounters implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardCounters.class);
+
+    private final UserRepository userRepository;
+    private final ResourceRepository resourceRepository;
+    private final BookingRepository bookingRepository;
+    private final AtomicLong users = new AtomicLong();
+    private final AtomicLong resources = new AtomicLong();
+    private final AtomicLong bookings = new AtomicLong();
+    private final AtomicLong approvedBookings = new AtomicLong();
+
+    public DashboardCounters(UserRepository userRepository, ResourceRepository resourceRepository,
+                             BookingRepository bookingRepository) {
+        this.userRepository = userRepository;
+        this.resourceRepository = resourceRepository;
+        this.bookingRepository = bookingRepository;
+    }
+
+    // Runs before the web server starts accepting requests
+    @Override
+    public void afterSingletonsInstantiated() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.counters.reconcile-ms:300000}",
+               initialDelayString = "${dashboard.counters.reconcile-ms:300000}")
+    public void reconcile() {
+        long userCount = userRepository.countNotDeleted();
+        long resourceCount = resourceRepository.countNotDeleted();
+        long bookingCount = bookingRepository.countNotDeleted();
+        long approvedCount = bookingRepository.countApprovedBookings();
+        if (users.getAndSet(userCount) != userCount || resources.getAndSet(resourceCount) != resourceCount
+                || bookings.getAndSet(bookingCount) != bookingCount
+                || approvedBookings.getAndSet(approvedCount) != approvedCount) {
+            log.debug("Dashboard counters reconciled with the database");
+        }
+    }
+
+    public long getUsers() {
+        return users.get();
+    }
+
+    public long getResources() {
+        return resources.get();
+    }
+
+    public long getBookings() {
+        return bookings.get();
+    }
+
+    public long getApprovedBookings() {
+        return approvedBookings.get();
+    }
+
+    public void userAdded() {
+        adjust(users, 1);
+    }
+
+    public void userRemoved() {
+        adjust(users, -1);
+    }
+
+    public void resourceAdded() {
+        adjust(resources, 1);
+    }
+
+    public void resourceRemoved() {
+        adjust(resources, -1);
+    }
+
+    public void bookingsAdded(int count, int approved) {
+        adjust(bookings, count);
+        adjust(approvedBookings, approved);
+    }
+
+    public void bookingsRemoved(int count, int approved) {
+        adjust(bookings, -count);
+        adjust(approvedBookings, -approved);
+    }
+
+    public void bookingsApproved(int count) {
+        adjust(approvedBookings, count);
+    }
+
+    private static void adjust(AtomicLong counter, long delta) {
+        if (delta != 0) {
+            TransactionCallbacks.afterCommit(() -> counter.addAndGet(delta));
+        }
+    }
+}
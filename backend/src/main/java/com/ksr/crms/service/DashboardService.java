@@ -1,30 +1,116 @@
 package com.ksr.crms.service;
 
+import com.ksr.crms.config.LocalCacheRegionFactory;
 import com.ksr.crms.dto.DashboardDTO;
-import com.ksr.crms.repository.BookingRepository;
-import com.ksr.crms.repository.ResourceRepository;
-import com.ksr.crms.repository.UserRepository;
+import com.ksr.crms.dto.EntityCacheStatsDTO;
+import com.ksr.crms.dto.TimeseriesPointDTO;
+import com.ksr.crms.dto.UserDashboardDTO;
+import com.ksr.crms.entity.Booking;
+import com.ksr.crms.entity.BookingDailyRollup;
+import com.ksr.crms.entity.Resource;
+import com.ksr.crms.exception.ValidationException;
+import com.ksr.crms.repository.BookingDailyRollupRepository;
 import org.springframework.stereotype.Service;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Service
 public class DashboardService {
 
-    private final UserRepository userRepository;
-    private final ResourceRepository resourceRepository;
-    private final BookingRepository bookingRepository;
+    private static final int MAX_TIMESERIES_DAYS = 731;
+
+    private final DashboardCounters counters;
+    private final BookingDailyRollupRepository rollupRepository;
+    private final UserDashboardCache userDashboardCache;
+    private final ResourceCapacityIndex capacityIndex;
+    private final LocalCacheRegionFactory entityCache;
+
+    public DashboardService(DashboardCounters counters, BookingDailyRollupRepository rollupRepository,
+                            UserDashboardCache userDashboardCache, ResourceCapacityIndex capacityIndex,
+                            LocalCacheRegionFactory entityCache) {
+        this.counters = counters;
+        this.rollupRepository = rollupRepository;
+        this.userDashboardCache = userDashboardCache;
+        this.capacityIndex = capacityIndex;
+        this.entityCache = entityCache;
+    }
 
-    public DashboardService(UserRepository userRepository, ResourceRepository resourceRepository, BookingRepository bookingRepository) {
-        this.userRepository = userRepository;
-        this.resourceRepository = resourceRepository;
-        this.bookingRepository = bookingRepository;
+    public enum Granularity {
+        DAY, WEEK
     }
 
+    // Served from in-memory counters, no queries
     public DashboardDTO getDashboardStats() {
-        Long totalUsers = userRepository.count();
-        Long totalResources = resourceRepository.count();
-        Long totalBookings = bookingRepository.count();
-        Long totalApprovedBookings = bookingRepository.countApprovedBookings();
+        Long totalUsers = counters.getUsers();
+        Long totalResources = counters.getResources();
+        Long totalBookings = counters.getBookings();
+        Long totalApprovedBookings = counters.getApprovedBookings();
 
         return new DashboardDTO(totalUsers, totalResources, totalBookings, totalApprovedBookings);
     }
+
+    // The caller's own booking counts and next booking, one cached aggregate query per user
+    public UserDashboardDTO getMyDashboard(Long userId) {
+        UserDashboardCache.Summary summary = userDashboardCache.get(userId);
+
+        UserDashboardDTO dto = new UserDashboardDTO();
+        dto.setUserId(userId);
+        dto.setTotalBookings(summary.total());
+        dto.setUpcomingBookings(summary.upcoming());
+        dto.setPendingBookings(summary.pending());
+        dto.setApprovedBookings(summary.approved());
+        dto.setRejectedBookings(summary.rejected());
+        dto.setNextBooking(summary.nextBooking());
+        dto.setRecentBookings(summary.recentBookings());
+        dto.setAvailableResources((long) capacityIndex.size());
+        return dto;
+    }
+
+    // Hit and miss counts of the second-level entity cache, one entry per cached entity
+    public List<EntityCacheStatsDTO> getEntityCacheStats() {
+        return entityCache.getStats();
+    }
+
+    /**
+     * Bookings per day or ISO week, split by resource type, status and time slot. Read from the
+     * booking_daily_rollups table, so the cost depends on the number of days, not bookings.
+     */
+    public List<TimeseriesPointDTO> getTimeseries(LocalDate from, LocalDate to, Granularity granularity,
+                                                  Resource.Type type, Booking.BookingStatus status,
+                                                  Booking.TimeSlot timeSlot) {
+        LocalDate toDate = to != null ? to : LocalDate.now();
+        LocalDate fromDate = from != null ? from : toDate.minusMonths(12).plusDays(1);
+        if (toDate.isBefore(fromDate)) {
+            throw new ValidationException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(fromDate, toDate) >= MAX_TIMESERIES_DAYS) {
+            throw new ValidationException("Time series range cannot exceed " + MAX_TIMESERIES_DAYS + " days");
+        }
+
+        // Rows come ordered by day, so the buckets stay in period order
+        Map<PointKey, Long> buckets = new LinkedHashMap<>();
+        for (BookingDailyRollup row : rollupRepository.findBetween(fromDate, toDate, type, status, timeSlot)) {
+            LocalDate period = granularity == Granularity.WEEK
+                    ? row.getBookingDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                    : row.getBookingDate();
+            buckets.merge(new PointKey(period, row.getResourceType(), row.getStatus(), row.getTimeSlot()),
+                    row.getBookingCount(), Long::sum);
+        }
+
+        List<TimeseriesPointDTO> points = new ArrayList<>(buckets.size());
+        buckets.forEach((key, count) -> points.add(
+                new TimeseriesPointDTO(key.period(), key.type(), key.status(), key.timeSlot(), count)));
+        return points;
+    }
+
+    private record PointKey(LocalDate period, Resource.Type type, Booking.BookingStatus status,
+                            Booking.TimeSlot timeSlot) {
+    }
 }
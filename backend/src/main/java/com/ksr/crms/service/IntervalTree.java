@@ -0,0 +1,170 @@
+package com.ksr.crms.service;
+
+/**
+ * AVL tree of half-open intervals [start, end) augmented with the maximum end of each subtree,
+ * so inserts, removals and "does anything overlap" queries are all O(log n).
+ * Not thread-safe; callers synchronize on the tree.
+ */
+class IntervalTree {
+
+    private Node root;
+    private int size;
+
+    /** Adds an interval; {@code key} must be unique within the tree and is used for removal. */
+    void insert(int start, int end, long key) {
+        root = insert(root, new Node(start, end, key));
+        size++;
+    }
+
+    /** Removes the interval previously inserted with the given start and key. */
+    boolean remove(int start, long key) {
+        int before = size;
+        root = remove(root, start, key);
+        return size < before;
+    }
+
+    /** Returns the key of any interval overlapping [start, end), or -1 if none does. */
+    long findOverlap(int start, int end) {
+        Node node = root;
+        while (node != null) {
+            if (node.start < end && start < node.end) {
+                return node.key;
+            }
+            // If the left subtree reaches past our start, any overlap on the right would
+            // imply one on the left as well, so it is enough to search one side only
+            if (node.left != null && node.left.maxEnd > start) {
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    private static int compare(int start, long key, Node node) {
+        int byStart = Integer.compare(start, node.start);
+        return byStart != 0 ? byStart : Long.compare(key, node.key);
+    }
+
+    private Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.key, node) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return rebalance(node);
+    }
+
+    private Node remove(Node node, int start, long key) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, key, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, start, key);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, start, key);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.right = removeMin(node.right);
+            successor.right = node.right;
+            successor.left = node.left;
+            node = successor;
+        }
+        return rebalance(node);
+    }
+
+    private Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return rebalance(node);
+    }
+
+    private Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        int maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static final class Node {
+        private final int start;
+        private final int end;
+        private final long key;
+        private int maxEnd;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        private Node(int start, int end, long key) {
+            this.start = start;
+            this.end = end;
+            this.key = key;
+            this.maxEnd = end;
+        }
+    }
+}
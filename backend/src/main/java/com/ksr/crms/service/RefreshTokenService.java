@@ -0,0 +1,121 @@
+package com.ksr.crms.service;
+
+import com.ksr.crms.entity.RefreshToken;
+import com.ksr.crms.entity.User;
+import com.ksr.crms.exception.UnauthorizedException;
+import com.ksr.crms.repository.RefreshTokenRepository;
+import com.ksr.crms.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Rotating refresh tokens, so sessions are renewed without re-entering (and re-hashing) the
+ * password. Each token can be used once; using it again revokes the whole family.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final long refreshExpiration;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository,
+                               TokenRevocationService tokenRevocationService,
+                               @Value("${jwt.refresh-expiration:1209600000}") Long refreshExpiration) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.tokenRevocationService = tokenRevocationService;
+        this.refreshExpiration = refreshExpiration;
+    }
+
+    /** Starts a new token family for a freshly authenticated user and returns the raw token. */
+    @Transactional
+    public String issue(Long userId) {
+        return store(userRepository.getReferenceById(userId), UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for a new one in the same family.
+     * Not rolled back on rejection, so a detected reuse still revokes the family.
+     */
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public Rotation rotate(String token) {
+        RefreshToken stored = refreshTokenRepository.findByTokenHash(hash(token))
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+        LocalDateTime now = LocalDateTime.now();
+
+        if (stored.getRevoked()) {
+            throw new UnauthorizedException("Refresh token has been revoked");
+        }
+        if (stored.getExpiresAt().isBefore(now)) {
+            throw new UnauthorizedException("Refresh token has expired");
+        }
+        if (stored.getUsedAt() != null || refreshTokenRepository.markUsed(stored.getId(), now) == 0) {
+            // A rotated token came back, so someone else holds a copy: end every session of this family
+            log.warn("Refresh token reuse detected for user {}, revoking family {}",
+                    stored.getUser().getId(), stored.getFamilyId());
+            refreshTokenRepository.revokeFamily(stored.getFamilyId());
+            tokenRevocationService.revokeUser(stored.getUser().getId());
+            throw new UnauthorizedException("Refresh token has already been used");
+        }
+
+        User user = stored.getUser();
+        if ((user.getDeleted() != null && user.getDeleted()) || user.getStatus() != User.Status.ACTIVE) {
+            refreshTokenRepository.revokeFamily(stored.getFamilyId());
+            throw new UnauthorizedException("Account is inactive");
+        }
+        return new Rotation(user.getId(), store(user, stored.getFamilyId()));
+    }
+
+    /** Revokes the family of the given token, e.g. on logout. Unknown tokens are ignored. */
+    @Transactional
+    public void revoke(String token) {
+        refreshTokenRepository.findByTokenHash(hash(token))
+                .ifPresent(stored -> refreshTokenRepository.revokeFamily(stored.getFamilyId()));
+    }
+
+    @Scheduled(cron = "0 15 3 * * *")
+    public void purgeExpired() {
+        int purged = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        log.info("Purged {} expired refresh tokens", purged);
+    }
+
+    private String store(User user, String familyId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(new RefreshToken(hash(token), familyId, user,
+                LocalDateTime.now().plusNanos(refreshExpiration * 1_000_000)));
+        return token;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /** The user a rotated token belongs to, and the refresh token that replaces it. */
+    public record Rotation(Long userId, String refreshToken) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.ksr.crms.service;
+
+import com.ksr.crms.entity.Booking;
+import com.ksr.crms.entity.Resource;
+import com.ksr.crms.entity.User;
+import com.ksr.crms.repository.BookingRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Applies changes committed by other instances to this instance's caches. Second-level cache
+ * entries are evicted first, so the in-memory indexes reload the committed rows and not stale
+ * cached copies.
+ */
+@Component
+public class RemoteCacheInvalidation {
+
+    private final Cache entityCache;
+    private final BookingRepository bookingRepository;
+    private final ResourceCatalog resourceCatalog;
+    private final ResourceCapacityIndex capacityIndex;
+    private final ResourceAvailabilityCache availabilityCache;
+    private final BookingConflictIndex conflictIndex;
+    private final UserStatusCache userStatusCache;
+    private final UserDashboardCache userDashboardCache;
+
+    public RemoteCacheInvalidation(CacheInvalidationBus bus, EntityManagerFactory entityManagerFactory,
+                                   BookingRepository bookingRepository, ResourceCatalog resourceCatalog,
+                                   ResourceCapacityIndex capacityIndex, ResourceAvailabilityCache availabilityCache,
+                                   BookingConflictIndex conflictIndex, UserStatusCache userStatusCache,
+                                   UserDashboardCache userDashboardCache) {
+        this.entityCache = entityManagerFactory.getCache();
+        this.bookingRepository = bookingRepository;
+        this.resourceCatalog = resourceCatalog;
+        this.capacityIndex = capacityIndex;
+        this.availabilityCache = availabilityCache;
+        this.conflictIndex = conflictIndex;
+        this.userStatusCache = userStatusCache;
+        this.userDashboardCache = userDashboardCache;
+
+        bus.subscribe(CacheInvalidationBus.Topic.RESOURCE, this::resourceChanged);
+        bus.subscribe(CacheInvalidationBus.Topic.USER, this::userChanged);
+        bus.subscribe(CacheInvalidationBus.Topic.BOOKING, this::bookingChanged);
+        bus.onResync(this::resync);
+    }
+
+    private void resourceChanged(long resourceId) {
+        entityCache.evict(Resource.class, resourceId);
+        resourceCatalog.refresh(resourceId);
+        capacityIndex.refresh(resourceId);
+        availabilityCache.evictAll();
+    }
+
+    // Anything cached about the user, including the booking summary (e.g. after a series was approved)
+    private void userChanged(long userId) {
+        entityCache.evict(User.class, userId);
+        userStatusCache.evict(userId);
+        userDashboardCache.evict(userId);
+    }
+
+    private void bookingChanged(long bookingId) {
+        Optional<Booking> booking = bookingRepository.findById(bookingId);
+        if (booking.isEmpty()) {
+            return;
+        }
+        conflictIndex.sync(booking.get());
+        availabilityCache.evictDay(booking.get().getBookingDate());
+        userDashboardCache.evict(booking.get().getUser().getId());
+    }
+
+    // Events may have been missed while disconnected, so everything is dropped or reloaded
+    private void resync() {
+        entityCache.evictAll();
+        resourceCatalog.reload();
+        capacityIndex.reload();
+        conflictIndex.rebuild();
+        availabilityCache.evictAll();
+        userStatusCache.clear();
+        userDashboardCache.clear();
+    }
+}
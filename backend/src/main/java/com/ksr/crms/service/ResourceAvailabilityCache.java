@@ -0,0 +1,73 @@
+package com.ksr.crms.service;
+
+import com.ksr.crms.dto.ResourceDTO;
+import com.ksr.crms.entity.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Per-day cache of availability search results. A day is dropped whenever a booking on it changes
+ * and everything is dropped when a resource changes, always after the writing transaction commits.
+ */
+@Component
+public class ResourceAvailabilityCache {
+
+    // Guards against unbounded growth from many distinct filter combinations on one day
+    private static final int MAX_SEARCHES_PER_DAY = 256;
+
+    private final Map<LocalDate, DayResults> days = new ConcurrentHashMap<>();
+
+    public List<ResourceDTO> get(LocalDate date, LocalTime start, LocalTime end, Resource.Type type, int minCapacity,
+                                 Supplier<List<ResourceDTO>> loader) {
+        // Results computed while the day is being evicted land in the detached DayResults and are never read
+        DayResults day = days.computeIfAbsent(date, d -> new DayResults());
+        SearchKey key = new SearchKey(start, end, type, minCapacity);
+        List<ResourceDTO> cached = day.results.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        List<ResourceDTO> loaded = List.copyOf(loader.get());
+        if (day.results.size() >= MAX_SEARCHES_PER_DAY) {
+            day.results.clear();
+        }
+        day.results.put(key, loaded);
+        return loaded;
+    }
+
+    public void evictDay(LocalDate date) {
+        afterCommit(() -> days.remove(date));
+    }
+
+    public void evictAll() {
+        afterCommit(days::clear);
+    }
+
+    @Scheduled(cron = "0 5 0 * * *")
+    public void evictPastDays() {
+        LocalDate today = LocalDate.now();
+        days.keySet().removeIf(date -> date.isBefore(today));
+    }
+
+    private void afterCommit(Runnable eviction) {
+        eviction.run();
+        // Evict again once committed so searches running during the transaction cannot keep stale results
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionCallbacks.afterCommit(eviction);
+        }
+    }
+
+    private record SearchKey(LocalTime start, LocalTime end, Resource.Type type, int minCapacity) {
+    }
+
+    private static final class DayResults {
+        private final Map<SearchKey, List<ResourceDTO>> results = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,109 @@
+package com.ksr.crms.service;
+
+import com.ksr.crms.entity.Resource;
+import com.ksr.crms.repository.ResourceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+
+/**
+ * Bookable resources (AVAILABLE and not deleted) per type, ordered by capacity, so the smallest
+ * resource that fits a headcount is found without a query. Loaded at startup and kept current
+ * by ResourceService after each committed write.
+ */
+@Component
+public class ResourceCapacityIndex implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ResourceCapacityIndex.class);
+    private static final Comparator<Entry> BY_CAPACITY = Comparator.comparingInt(Entry::capacity)
+            .thenComparingLong(Entry::resourceId);
+
+    private final ResourceRepository resourceRepository;
+    private final Map<Resource.Type, NavigableSet<Entry>> byType = new EnumMap<>(Resource.Type.class);
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    public ResourceCapacityIndex(ResourceRepository resourceRepository) {
+        this.resourceRepository = resourceRepository;
+        for (Resource.Type type : Resource.Type.values()) {
+            byType.put(type, new ConcurrentSkipListSet<>(BY_CAPACITY));
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reload();
+    }
+
+    /** Re-applies every resource from the database; entries of resources no longer bookable are dropped. */
+    public void reload() {
+        List<Resource> resources = resourceRepository.findAll();
+        resources.forEach(this::apply);
+        log.info("Resource capacity index loaded with {} bookable resources", entries.size());
+    }
+
+    /** Resource ids of the given type with capacity of at least {@code headcount}, smallest first. */
+    public List<Long> candidates(Resource.Type type, int headcount) {
+        return byType.get(type).tailSet(new Entry(headcount, Long.MIN_VALUE, type), true).stream()
+                .map(Entry::resourceId)
+                .collect(Collectors.toList());
+    }
+
+    /** Number of bookable resources. */
+    public int size() {
+        return entries.size();
+    }
+
+    /** Re-indexes a created or updated resource once the transaction commits. */
+    public void update(Resource resource) {
+        Long id = resource.getId();
+        Resource.Type type = resource.getType();
+        Integer capacity = resource.getCapacity();
+        boolean bookable = isBookable(resource);
+        TransactionCallbacks.afterCommit(() -> apply(id, type, capacity, bookable));
+    }
+
+    /** Re-reads one resource from the database, for changes committed by another instance. */
+    public void refresh(Long resourceId) {
+        resourceRepository.findById(resourceId)
+                .ifPresentOrElse(this::apply, () -> apply(resourceId, null, null, false));
+    }
+
+    /** Drops a deleted resource once the transaction commits. */
+    public void remove(Long resourceId) {
+        TransactionCallbacks.afterCommit(() -> apply(resourceId, null, null, false));
+    }
+
+    private void apply(Resource resource) {
+        apply(resource.getId(), resource.getType(), resource.getCapacity(), isBookable(resource));
+    }
+
+    private synchronized void apply(Long id, Resource.Type type, Integer capacity, boolean bookable) {
+        Entry previous = entries.remove(id);
+        if (previous != null) {
+            byType.get(previous.type()).remove(previous);
+        }
+        if (bookable && type != null && capacity != null) {
+            Entry entry = new Entry(capacity, id, type);
+            entries.put(id, entry);
+            byType.get(type).add(entry);
+        }
+    }
+
+    private static boolean isBookable(Resource resource) {
+        return resource.getStatus() == Resource.Status.AVAILABLE
+                && (resource.getDeleted() == null || !resource.getDeleted());
+    }
+
+    private record Entry(int capacity, long resourceId, Resource.Type type) {
+    }
+}
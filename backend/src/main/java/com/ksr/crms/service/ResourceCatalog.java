@@ -0,0 +1,129 @@
+package com.ksr.crms.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ksr.crms.dto.ResourceDTO;
+import com.ksr.crms.entity.Resource;
+import com.ksr.crms.repository.ResourceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable snapshot of the non-deleted resources, ordered by id, with the JSON response body
+ * serialized once per change. Readers take the current snapshot without locking; writers build a
+ * modified copy after commit and swap it in. The ETag is a hash of the JSON, so every instance
+ * serving the same catalog hands out the same tag.
+ */
+@Component
+public class ResourceCatalog implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ResourceCatalog.class);
+
+    private final ResourceRepository resourceRepository;
+    private final ObjectMapper objectMapper;
+    private final Object writeLock = new Object();
+    private volatile Snapshot snapshot;
+
+    public ResourceCatalog(ResourceRepository resourceRepository, ObjectMapper objectMapper) {
+        this.resourceRepository = resourceRepository;
+        this.objectMapper = objectMapper;
+        this.snapshot = build(new TreeMap<>());
+    }
+
+    // Runs before the web server starts accepting requests
+    @Override
+    public void afterSingletonsInstantiated() {
+        reload();
+    }
+
+    public Snapshot current() {
+        return snapshot;
+    }
+
+    /** Replaces the whole snapshot with the current contents of the resources table. */
+    public void reload() {
+        synchronized (writeLock) {
+            Map<Long, ResourceDTO> byId = new TreeMap<>();
+            resourceRepository.findAllNotDeleted().forEach(resource -> byId.put(resource.getId(), toDTO(resource)));
+            snapshot = build(byId);
+        }
+        log.info("Resource catalog loaded with {} resources", snapshot.resources().size());
+    }
+
+    /** Re-reads one resource from the database, for changes committed by another instance. */
+    public void refresh(Long resourceId) {
+        resourceRepository.findById(resourceId)
+                .filter(resource -> resource.getDeleted() == null || !resource.getDeleted())
+                .ifPresentOrElse(resource -> put(toDTO(resource)), () -> remove(resourceId));
+    }
+
+    /** Adds or replaces a resource once the surrounding transaction commits. */
+    public void put(ResourceDTO resource) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (writeLock) {
+                Map<Long, ResourceDTO> byId = copy();
+                byId.put(resource.getId(), resource);
+                snapshot = build(byId);
+            }
+        });
+    }
+
+    /** Removes a resource once the surrounding transaction commits. */
+    public void remove(Long resourceId) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (writeLock) {
+                Map<Long, ResourceDTO> byId = copy();
+                if (byId.remove(resourceId) != null) {
+                    snapshot = build(byId);
+                }
+            }
+        });
+    }
+
+    private Map<Long, ResourceDTO> copy() {
+        Map<Long, ResourceDTO> byId = new TreeMap<>();
+        snapshot.resources().forEach(resource -> byId.put(resource.getId(), resource));
+        return byId;
+    }
+
+    private Snapshot build(Map<Long, ResourceDTO> byId) {
+        List<ResourceDTO> resources = Collections.unmodifiableList(new ArrayList<>(byId.values()));
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(resources);
+            return new Snapshot(resources, json, etag(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize resource catalog", e);
+        }
+    }
+
+    private static ResourceDTO toDTO(Resource resource) {
+        return new ResourceDTO(resource.getId(), resource.getName(), resource.getType(), resource.getCapacity(),
+                resource.getStatus(), resource.getCreatedAt());
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * One version of the catalog. The DTOs are shared between snapshots and must not be modified.
+     */
+    public record Snapshot(List<ResourceDTO> resources, byte[] json, String etag) {
+    }
+}
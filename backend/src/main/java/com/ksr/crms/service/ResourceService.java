@@ -1,28 +1,63 @@
 package com.ksr.crms.service;
 
+import com.ksr.crms.dto.PageResponse;
+import com.ksr.crms.dto.ResourceCalendarDTO;
 import com.ksr.crms.dto.ResourceDTO;
+import com.ksr.crms.entity.Booking;
 import com.ksr.crms.entity.Resource;
 import com.ksr.crms.entity.User;
 import com.ksr.crms.exception.ResourceNotFoundException;
 import com.ksr.crms.exception.UnauthorizedException;
+import com.ksr.crms.exception.ValidationException;
+import com.ksr.crms.repository.BookingRepository;
+import com.ksr.crms.repository.BookingSlotView;
 import com.ksr.crms.repository.ResourceRepository;
+import com.ksr.crms.repository.ResourceSpecifications;
 import com.ksr.crms.repository.UserRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class ResourceService {
 
+    private static final int CALENDAR_CELL_MINUTES = 30;
+    private static final int MAX_CALENDAR_DAYS = 92;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "name", "type", "status", "capacity", "createdAt");
+
     private final ResourceRepository resourceRepository;
     private final UserRepository userRepository;
+    private final BookingRepository bookingRepository;
+    private final ResourceAvailabilityCache availabilityCache;
+    private final ResourceCapacityIndex capacityIndex;
+    private final DashboardCounters dashboardCounters;
+    private final ResourceCatalog resourceCatalog;
+    private final CacheInvalidationBus invalidationBus;
 
-    public ResourceService(ResourceRepository resourceRepository, UserRepository userRepository) {
+    public ResourceService(ResourceRepository resourceRepository, UserRepository userRepository,
+                           BookingRepository bookingRepository, ResourceAvailabilityCache availabilityCache,
+                           ResourceCapacityIndex capacityIndex, DashboardCounters dashboardCounters,
+                           ResourceCatalog resourceCatalog, CacheInvalidationBus invalidationBus) {
         this.resourceRepository = resourceRepository;
         this.userRepository = userRepository;
+        this.bookingRepository = bookingRepository;
+        this.availabilityCache = availabilityCache;
+        this.capacityIndex = capacityIndex;
+        this.dashboardCounters = dashboardCounters;
+        this.resourceCatalog = resourceCatalog;
+        this.invalidationBus = invalidationBus;
     }
 
     @Transactional
@@ -35,14 +70,127 @@ public class ResourceService {
         resource.setDeleted(false);
 
         Resource savedResource = resourceRepository.save(resource);
-        return convertToDTO(savedResource);
+        availabilityCache.evictAll();
+        capacityIndex.update(savedResource);
+        dashboardCounters.resourceAdded();
+        ResourceDTO dto = convertToDTO(savedResource);
+        resourceCatalog.put(dto);
+        invalidationBus.publish(CacheInvalidationBus.Topic.RESOURCE, dto.getId());
+        return dto;
     }
 
-    public List<ResourceDTO> getAllResources() {
-        return resourceRepository.findAll().stream()
-                .filter(resource -> resource.getDeleted() == null || !resource.getDeleted()) // Handle null deleted field
+    // Served from the in-memory snapshot together with its pre-serialized JSON, no queries
+    public ResourceCatalog.Snapshot getCatalog() {
+        return resourceCatalog.current();
+    }
+
+    // Filtered, sorted page of resources; only the supplied filters reach the SQL
+    @Transactional(readOnly = true)
+    public PageResponse<ResourceDTO> searchResources(Resource.Type type, Resource.Status status, Integer minCapacity,
+                                                     String namePrefix, String sort, int page, int size) {
+        if (page < 0) {
+            throw new ValidationException("Page number must not be negative");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        Specification<Resource> spec = ResourceSpecifications.notDeleted();
+        if (type != null) {
+            spec = spec.and(ResourceSpecifications.hasType(type));
+        }
+        if (status != null) {
+            spec = spec.and(ResourceSpecifications.hasStatus(status));
+        }
+        if (minCapacity != null) {
+            spec = spec.and(ResourceSpecifications.capacityAtLeast(minCapacity));
+        }
+        if (namePrefix != null && !namePrefix.isBlank()) {
+            spec = spec.and(ResourceSpecifications.nameStartsWith(namePrefix.trim()));
+        }
+
+        Page<Resource> resourcePage = resourceRepository.findAll(spec, PageRequest.of(page, pageSize, parseSort(sort)));
+        List<ResourceDTO> resources = resourcePage.getContent().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
+
+        return new PageResponse<>(
+                resources,
+                resourcePage.getNumber(),
+                resourcePage.getSize(),
+                resourcePage.getTotalElements(),
+                resourcePage.getTotalPages()
+        );
+    }
+
+    // "property" or "property,asc|desc"; id breaks ties so pages never overlap
+    private Sort parseSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.by("name", "id");
+        }
+        String[] parts = sort.split(",");
+        String property = parts[0].trim();
+        if (!SORTABLE_PROPERTIES.contains(property)) {
+            throw new ValidationException("Resources cannot be sorted by: " + property);
+        }
+        Sort.Direction direction = parts.length > 1
+                ? Sort.Direction.fromOptionalString(parts[1].trim())
+                        .orElseThrow(() -> new ValidationException("Sort direction must be asc or desc"))
+                : Sort.Direction.ASC;
+        Sort order = Sort.by(direction, property);
+        return property.equals("id") ? order : order.and(Sort.by("id"));
+    }
+
+    // Free resources for a date and slot, served from the per-day cache when the same search repeats
+    public List<ResourceDTO> getAvailableResources(LocalDate date, Booking.TimeSlot timeSlot, LocalTime startTime,
+                                                   Resource.Type type, Integer minCapacity) {
+        if (date.isBefore(LocalDate.now())) {
+            throw new ValidationException("Cannot search availability for a past date");
+        }
+        LocalTime start = timeSlot.resolveStart(startTime);
+        LocalTime end = timeSlot.endFor(start);
+        if (start.isBefore(Booking.DAY_START) || end.isAfter(Booking.DAY_END) || !end.isAfter(start)) {
+            throw new ValidationException("Bookings must be between " + Booking.DAY_START + " and " + Booking.DAY_END);
+        }
+        int capacity = minCapacity != null ? minCapacity : 1;
+
+        return availabilityCache.get(date, start, end, type, capacity, () -> {
+            List<Resource> available = type != null
+                    ? resourceRepository.findAvailableByType(date, start, end, type, capacity)
+                    : resourceRepository.findAvailable(date, start, end, capacity);
+            return available.stream()
+                    .map(this::convertToDTO)
+                    .collect(Collectors.toList());
+        });
+    }
+
+    // Bit-packed occupancy per day, built from a single range scan of the resource's bookings
+    public ResourceCalendarDTO getResourceCalendar(Long id, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new ValidationException("'to' must not be before 'from'");
+        }
+        long dayCount = ChronoUnit.DAYS.between(from, to) + 1;
+        if (dayCount > MAX_CALENDAR_DAYS) {
+            throw new ValidationException("Calendar range cannot exceed " + MAX_CALENDAR_DAYS + " days");
+        }
+        if (!resourceRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Resource not found with id: " + id);
+        }
+
+        int dayStartMinute = Booking.DAY_START.toSecondOfDay() / 60;
+        int cellsPerDay = (Booking.DAY_END.toSecondOfDay() / 60 - dayStartMinute) / CALENDAR_CELL_MINUTES;
+        int[] occupancy = new int[(int) dayCount];
+        for (BookingSlotView slot : bookingRepository.findSlotsByResourceBetween(id, from, to)) {
+            int startMinute = slot.getEffectiveStartTime().toSecondOfDay() / 60 - dayStartMinute;
+            int endMinute = slot.getEffectiveEndTime().toSecondOfDay() / 60 - dayStartMinute;
+            int firstCell = Math.max(0, startMinute / CALENDAR_CELL_MINUTES);
+            int lastCell = Math.min(cellsPerDay - 1, (endMinute - 1) / CALENDAR_CELL_MINUTES);
+            if (lastCell < firstCell) {
+                continue;
+            }
+            // Bits firstCell..lastCell inclusive
+            int mask = (int) (((1L << (lastCell + 1)) - 1) & ~((1L << firstCell) - 1));
+            occupancy[(int) ChronoUnit.DAYS.between(from, slot.getBookingDate())] |= mask;
+        }
+        return new ResourceCalendarDTO(id, from, to, Booking.DAY_START, CALENDAR_CELL_MINUTES, cellsPerDay, occupancy);
     }
 
     public ResourceDTO getResourceById(Long id) {
@@ -62,7 +210,12 @@ public class ResourceService {
         resource.setStatus(resourceDTO.getStatus());
 
         Resource updatedResource = resourceRepository.save(resource);
-        return convertToDTO(updatedResource);
+        availabilityCache.evictAll();
+        capacityIndex.update(updatedResource);
+        ResourceDTO dto = convertToDTO(updatedResource);
+        resourceCatalog.put(dto);
+        invalidationBus.publish(CacheInvalidationBus.Topic.RESOURCE, dto.getId());
+        return dto;
     }
 
     @Transactional
@@ -70,10 +223,18 @@ public class ResourceService {
         Resource resource = resourceRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Resource not found with id: " + id));
 
+        if (resource.getDeleted() == null || !resource.getDeleted()) {
+            dashboardCounters.resourceRemoved();
+        }
+
         // Soft delete
         resource.setDeleted(true);
         resource.setDeletedAt(LocalDateTime.now());
         resourceRepository.save(resource);
+        availabilityCache.evictAll();
+        capacityIndex.remove(resource.getId());
+        resourceCatalog.remove(resource.getId());
+        invalidationBus.publish(CacheInvalidationBus.Topic.RESOURCE, resource.getId());
     }
 
     private ResourceDTO convertToDTO(Resource resource) {
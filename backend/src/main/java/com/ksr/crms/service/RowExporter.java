@@ -0,0 +1,121 @@
+package com.ksr.crms.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ksr.crms.exception.ValidationException;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes the rows of a stream to a response body one at a time, as CSV or newline-delimited
+ * JSON. Nothing is collected, so memory use does not grow with the number of rows; the buffered
+ * writer hands full chunks to the client as it goes.
+ */
+@Component
+public class RowExporter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format parse(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new ValidationException("Unsupported export format: " + value + " (expected csv or ndjson)");
+        }
+    }
+
+    /** A CSV column: its header and how to read its value from a row. */
+    public record Column<T>(String header, Function<T, Object> value) {
+    }
+
+    private final ObjectWriter jsonWriter;
+
+    public RowExporter(ObjectMapper objectMapper) {
+        this.jsonWriter = objectMapper.writer();
+    }
+
+    /**
+     * Writes every row of {@code rows} to {@code out}. NDJSON rows are the DTOs as the API returns
+     * them; CSV rows hold the given columns, after a header line.
+     */
+    public <T> void export(Stream<T> rows, Format format, List<Column<T>> columns, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (format == Format.CSV) {
+            writeLine(writer, columns.stream().map(column -> (Object) column.header()).iterator());
+        }
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            T row = iterator.next();
+            if (format == Format.NDJSON) {
+                writer.write(jsonWriter.writeValueAsString(row));
+                writer.write('\n');
+            } else {
+                writeLine(writer, columns.stream().map(column -> column.value().apply(row)).iterator());
+            }
+        }
+        writer.flush();
+    }
+
+    private static void writeLine(Writer writer, Iterator<Object> values) throws IOException {
+        boolean first = true;
+        while (values.hasNext()) {
+            if (!first) {
+                writer.write(',');
+            }
+            writeCell(writer, values.next());
+            first = false;
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180 quoting; text starting with a formula character is prefixed with ' so spreadsheets
+    // opening the file do not evaluate user-supplied names
+    private static void writeCell(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (value instanceof String && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,199 @@
+package com.ksr.crms.service;
+
+import com.ksr.crms.entity.Resource;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Assigns many room requests to resources at once, maximising the number placed. Requests on
+ * different days are independent, so each day is solved as its own task on a fork-join pool.
+ * Within a day the most constrained requests are placed first on the smallest resource that fits,
+ * then unplaced requests try to free a resource by moving one blocking request elsewhere.
+ * Pure in-memory computation; loading the model and saving the result is up to the caller.
+ */
+@Component
+public class ScheduleOptimizer {
+
+    private final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    public Result solve(List<Request> requests, List<Candidate> resources, List<Occupied> occupied,
+                        Set<StudentDay> bookedStudentDays) {
+        Map<LocalDate, List<Request>> byDay = requests.stream().collect(Collectors.groupingBy(Request::date));
+        Map<LocalDate, List<Occupied>> occupiedByDay = occupied.stream().collect(Collectors.groupingBy(Occupied::date));
+
+        List<DayResult> dayResults = pool.submit(() -> byDay.entrySet().parallelStream()
+                .map(day -> new DaySolver(day.getKey(), day.getValue(), resources,
+                        occupiedByDay.getOrDefault(day.getKey(), List.of()), bookedStudentDays).solve())
+                .collect(Collectors.toList())).join();
+
+        Map<Integer, Long> placements = new HashMap<>();
+        Map<Integer, String> unplaced = new HashMap<>();
+        for (DayResult dayResult : dayResults) {
+            placements.putAll(dayResult.placements());
+            unplaced.putAll(dayResult.unplaced());
+        }
+        return new Result(placements, unplaced);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /** One room request; {@code index} identifies it in the result. Times are minutes of the day. */
+    public record Request(int index, Long userId, boolean student, LocalDate date, int start, int end,
+                          Resource.Type type, int headcount) {
+    }
+
+    public record Candidate(Long resourceId, Resource.Type type, int capacity) {
+    }
+
+    /** An existing booking that cannot be moved. */
+    public record Occupied(Long resourceId, LocalDate date, int start, int end) {
+    }
+
+    public record StudentDay(Long userId, LocalDate date) {
+    }
+
+    /** Resource chosen per placed request index, and a reason per unplaced request index. */
+    public record Result(Map<Integer, Long> placements, Map<Integer, String> unplaced) {
+    }
+
+    private record DayResult(Map<Integer, Long> placements, Map<Integer, String> unplaced) {
+    }
+
+    private static final class DaySolver {
+
+        private final LocalDate date;
+        private final List<Request> requests;
+        private final Map<Integer, Request> requestsByIndex = new HashMap<>();
+        private final Map<Integer, List<Candidate>> candidatesByIndex = new HashMap<>();
+        private final Map<Long, IntervalTree> trees = new HashMap<>();
+        private final Set<Long> studentsPlaced = new HashSet<>();
+        private final Set<StudentDay> bookedStudentDays;
+        private final Map<Integer, Long> placements = new HashMap<>();
+        private final Map<Integer, String> unplaced = new HashMap<>();
+        // Keys at or above this value are existing bookings, which are never moved
+        private final long fixedKeyBase;
+
+        private DaySolver(LocalDate date, List<Request> requests, List<Candidate> resources, List<Occupied> occupied,
+                          Set<StudentDay> bookedStudentDays) {
+            this.date = date;
+            this.requests = requests;
+            this.bookedStudentDays = bookedStudentDays;
+            this.fixedKeyBase = requests.stream().mapToLong(Request::index).max().orElse(0) + 1;
+
+            List<Candidate> bySize = resources.stream()
+                    .sorted(Comparator.comparingInt(Candidate::capacity).thenComparing(Candidate::resourceId))
+                    .collect(Collectors.toList());
+            for (Request request : requests) {
+                requestsByIndex.put(request.index(), request);
+                candidatesByIndex.put(request.index(), bySize.stream()
+                        .filter(c -> c.type() == request.type() && c.capacity() >= request.headcount())
+                        .collect(Collectors.toList()));
+            }
+            long key = fixedKeyBase;
+            for (Occupied booking : occupied) {
+                tree(booking.resourceId()).insert(booking.start(), booking.end(), key++);
+            }
+        }
+
+        private DayResult solve() {
+            // Most constrained first: fewest fitting resources, then longest, then largest
+            List<Request> ordered = new ArrayList<>(requests);
+            ordered.sort(Comparator.<Request>comparingInt(r -> candidatesByIndex.get(r.index()).size())
+                    .thenComparing(Comparator.comparingInt((Request r) -> r.end() - r.start()).reversed())
+                    .thenComparing(Comparator.comparingInt(Request::headcount).reversed())
+                    .thenComparingInt(Request::index));
+
+            List<Request> pending = new ArrayList<>();
+            for (Request request : ordered) {
+                if (request.student() && bookedStudentDays.contains(new StudentDay(request.userId(), date))) {
+                    unplaced.put(request.index(), "Students can only book one resource per day");
+                } else if (request.student() && studentsPlaced.contains(request.userId())) {
+                    unplaced.put(request.index(), "Students can only book one resource per day");
+                } else if (candidatesByIndex.get(request.index()).isEmpty()) {
+                    unplaced.put(request.index(), "No " + request.type() + " with capacity of at least "
+                            + request.headcount());
+                } else if (!placeBestFit(request, null)) {
+                    pending.add(request);
+                }
+            }
+
+            for (Request request : pending) {
+                if (request.student() && studentsPlaced.contains(request.userId())) {
+                    unplaced.put(request.index(), "Students can only book one resource per day");
+                } else if (!placeByMovingOne(request)) {
+                    unplaced.put(request.index(), "No suitable resource is free for the requested time");
+                }
+            }
+            return new DayResult(placements, unplaced);
+        }
+
+        // Smallest free resource that fits, optionally skipping one resource
+        private boolean placeBestFit(Request request, Long excluded) {
+            for (Candidate candidate : candidatesByIndex.get(request.index())) {
+                if (candidate.resourceId().equals(excluded)) {
+                    continue;
+                }
+                IntervalTree tree = tree(candidate.resourceId());
+                if (tree.findOverlap(request.start(), request.end()) < 0) {
+                    place(request, candidate.resourceId());
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // One step of backtracking: free a resource by relocating its single blocking request
+        private boolean placeByMovingOne(Request request) {
+            for (Candidate candidate : candidatesByIndex.get(request.index())) {
+                IntervalTree tree = tree(candidate.resourceId());
+                long blockerKey = tree.findOverlap(request.start(), request.end());
+                if (blockerKey < 0 || blockerKey >= fixedKeyBase) {
+                    continue;
+                }
+                Request blocker = requestsByIndex.get((int) blockerKey);
+                unplace(blocker, candidate.resourceId());
+                if (tree.findOverlap(request.start(), request.end()) < 0
+                        && placeBestFit(blocker, candidate.resourceId())) {
+                    place(request, candidate.resourceId());
+                    return true;
+                }
+                place(blocker, candidate.resourceId());
+            }
+            return false;
+        }
+
+        private void place(Request request, Long resourceId) {
+            tree(resourceId).insert(request.start(), request.end(), request.index());
+            placements.put(request.index(), resourceId);
+            if (request.student()) {
+                studentsPlaced.add(request.userId());
+            }
+        }
+
+        private void unplace(Request request, Long resourceId) {
+            tree(resourceId).remove(request.start(), request.index());
+            placements.remove(request.index());
+            if (request.student()) {
+                studentsPlaced.remove(request.userId());
+            }
+        }
+
+        private IntervalTree tree(Long resourceId) {
+            return trees.computeIfAbsent(resourceId, id -> new IntervalTree());
+        }
+    }
+}
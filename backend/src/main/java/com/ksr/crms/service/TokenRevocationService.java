@@ -0,0 +1,148 @@
+package com.ksr.crms.service;
+
+import com.ksr.crms.entity.RevokedToken;
+import com.ksr.crms.repository.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deny-list for JWTs that must stop working before they expire: single tokens on logout, and
+ * every token of a user when the user is deleted, deactivated or changes role. Entries are
+ * persisted in revoked_tokens; the per-request check runs against an in-memory Bloom filter,
+ * so the usual "not revoked" answer never touches the database or the exact maps.
+ */
+@Service
+public class TokenRevocationService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final String TOKEN_PREFIX = "t:";
+    private static final String USER_PREFIX = "u:";
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long tokenLifetimeMillis;
+    private final int expectedRevocations;
+    private final Object lock = new Object();
+    private volatile DenyList denyList;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  @Value("${jwt.expiration}") Long tokenLifetimeMillis,
+                                  @Value("${jwt.revocation.expected-entries:100000}") int expectedRevocations) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.tokenLifetimeMillis = tokenLifetimeMillis;
+        this.expectedRevocations = expectedRevocations;
+        this.denyList = new DenyList(expectedRevocations);
+    }
+
+    // Runs before the web server starts accepting requests
+    @Override
+    public void afterSingletonsInstantiated() {
+        refresh();
+    }
+
+    public boolean isRevoked(Claims claims) {
+        DenyList current = denyList;
+        String jti = claims.getId();
+        if (jti != null && current.bloom.mightContain(TOKEN_PREFIX + jti) && current.tokens.containsKey(jti)) {
+            return true;
+        }
+        Long userId = claims.get("userId", Long.class);
+        if (userId == null || !current.bloom.mightContain(USER_PREFIX + userId)) {
+            return false;
+        }
+        // iat has whole-second precision and revocation times are truncated to match, so a token
+        // issued in the same second as the revocation (e.g. the login right after it) stays valid
+        Long revokedAt = current.users.get(userId);
+        Date issuedAt = claims.getIssuedAt();
+        return revokedAt != null && (issuedAt == null || issuedAt.getTime() < revokedAt);
+    }
+
+    /** Revokes a single token until its own expiry, e.g. on logout. */
+    @Transactional
+    public void revokeToken(Claims claims) {
+        if (claims.getId() == null || revokedTokenRepository.existsByJti(claims.getId())) {
+            return;
+        }
+        RevokedToken entry = new RevokedToken(claims.getId(), claims.get("userId", Long.class),
+                LocalDateTime.now(), toLocalDateTime(claims.getExpiration()));
+        revokedTokenRepository.save(entry);
+        TransactionCallbacks.afterCommit(() -> apply(entry));
+    }
+
+    /** Revokes every token issued to the user so far. Tokens issued afterwards are unaffected. */
+    @Transactional
+    public void revokeUser(Long userId) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        RevokedToken entry = new RevokedToken(null, userId, now,
+                now.plusNanos(tokenLifetimeMillis * 1_000_000));
+        revokedTokenRepository.save(entry);
+        TransactionCallbacks.afterCommit(() -> apply(entry));
+    }
+
+    /**
+     * Reloads the deny-list from the database, which also picks up revocations made on other
+     * instances. Bloom filters cannot forget entries, so expired ones are dropped by rebuilding.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-ms:60000}", initialDelayString = "${jwt.revocation.refresh-ms:60000}")
+    public void refresh() {
+        revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        // Holding the lock while loading means an entry committed during the load is applied to the new list
+        synchronized (lock) {
+            List<RevokedToken> entries = revokedTokenRepository.findByExpiresAtAfter(LocalDateTime.now());
+            DenyList rebuilt = new DenyList(Math.max(expectedRevocations, entries.size() * 2));
+            entries.forEach(rebuilt::add);
+            denyList = rebuilt;
+            log.debug("Token deny-list rebuilt with {} entries", entries.size());
+        }
+    }
+
+    private void apply(RevokedToken entry) {
+        synchronized (lock) {
+            denyList.add(entry);
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+
+    private static final class DenyList {
+        private final BloomFilter bloom;
+        // jti -> expiry, and userId -> latest revocation time (whole seconds), both in epoch millis
+        private final Map<String, Long> tokens = new ConcurrentHashMap<>();
+        private final Map<Long, Long> users = new ConcurrentHashMap<>();
+
+        private DenyList(int expectedEntries) {
+            this.bloom = new BloomFilter(expectedEntries, FALSE_POSITIVE_RATE);
+        }
+
+        private void add(RevokedToken entry) {
+            if (entry.getJti() != null) {
+                tokens.put(entry.getJti(), toEpochMillis(entry.getExpiresAt()));
+                bloom.add(TOKEN_PREFIX + entry.getJti());
+            } else {
+                users.merge(entry.getUserId(),
+                        toEpochMillis(entry.getRevokedAt().truncatedTo(ChronoUnit.SECONDS)), Math::max);
+                bloom.add(USER_PREFIX + entry.getUserId());
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.ksr.crms.service;
+
+import com.ksr.crms.dto.BookingDTO;
+import com.ksr.crms.entity.Booking;
+import com.ksr.crms.repository.BookingRepository;
+import com.ksr.crms.repository.UserBookingSummaryView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user booking summary behind GET /dashboard/me. Entries are loaded with one aggregate query,
+ * evicted after commit when BookingService changes one of the user's bookings, and reloaded after
+ * a TTL or when the day changes, since "upcoming" and the next booking depend on today's date.
+ */
+@Component
+public class UserDashboardCache {
+
+    // Only the latest few bookings are shown on the dashboard, never the whole history
+    private static final Pageable RECENT = PageRequest.of(0, 5);
+
+    private final BookingRepository bookingRepository;
+    private final long ttlNanos;
+    private final Map<Long, Summary> entries = new ConcurrentHashMap<>();
+    // Bumped on every eviction; a load that overlaps one is returned but not cached, so it cannot
+    // put back a summary read before the change committed
+    private final AtomicLong evictions = new AtomicLong();
+
+    public UserDashboardCache(BookingRepository bookingRepository,
+                              @Value("${dashboard.user-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.bookingRepository = bookingRepository;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+    }
+
+    public Summary get(Long userId) {
+        long now = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        Summary cached = entries.get(userId);
+        if (cached != null && cached.day().equals(today) && now - cached.loadedAt() < ttlNanos) {
+            return cached;
+        }
+        long generation = evictions.get();
+        Summary loaded = toSummary(userId, bookingRepository.summarizeForUser(userId, today),
+                bookingRepository.findRecentDTOsByUserId(userId, RECENT), today, now);
+        if (evictions.get() == generation) {
+            entries.put(userId, loaded);
+        }
+        return loaded;
+    }
+
+    /** Drops the user's entry once the surrounding transaction commits. */
+    public void evict(Long userId) {
+        TransactionCallbacks.afterCommit(() -> {
+            evictions.incrementAndGet();
+            entries.remove(userId);
+        });
+    }
+
+    public void clear() {
+        evictions.incrementAndGet();
+        entries.clear();
+    }
+
+    @Scheduled(fixedDelay = 300_000)
+    public void evictExpired() {
+        long now = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        entries.values().removeIf(summary -> !summary.day().equals(today) || now - summary.loadedAt() >= ttlNanos);
+    }
+
+    private static Summary toSummary(Long userId, UserBookingSummaryView view, List<BookingDTO> recent,
+                                     LocalDate today, long loadedAt) {
+        BookingDTO next = null;
+        if (view.getNextId() != null) {
+            next = new BookingDTO();
+            next.setId(view.getNextId());
+            next.setUserId(userId);
+            next.setResourceId(view.getNextResourceId());
+            next.setResourceName(view.getNextResourceName());
+            next.setBookingDate(LocalDate.parse(view.getNextDate()));
+            next.setTimeSlot(Booking.TimeSlot.valueOf(view.getNextTimeSlot()));
+            next.setStartTime(view.getNextStartTime() == null ? null : LocalTime.parse(view.getNextStartTime()));
+            next.setEndTime(view.getNextEndTime() == null ? null : LocalTime.parse(view.getNextEndTime()));
+            next.setStatus(Booking.BookingStatus.valueOf(view.getNextStatus()));
+        }
+        return new Summary(view.getTotal(), view.getUpcoming(), view.getPending(), view.getApproved(),
+                view.getRejected(), next, List.copyOf(recent), today, loadedAt);
+    }
+
+    public record Summary(long total, long upcoming, long pending, long approved, long rejected,
+                          BookingDTO nextBooking, List<BookingDTO> recentBookings, LocalDate day,
+                          long loadedAt) {
+    }
+}
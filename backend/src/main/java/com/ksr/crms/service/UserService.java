@@ -1,51 +1,90 @@
 package com.ksr.crms.service;
 
+import com.ksr.crms.dto.HashingStatsDTO;
 import com.ksr.crms.dto.PageResponse;
 import com.ksr.crms.dto.UserDTO;
 import com.ksr.crms.entity.User;
 import com.ksr.crms.exception.ConflictException;
 import com.ksr.crms.exception.ResourceNotFoundException;
+import com.ksr.crms.exception.ServiceUnavailableException;
 import com.ksr.crms.exception.UnauthorizedException;
 import com.ksr.crms.repository.UserRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class UserService {
 
-    private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private static final List<RowExporter.Column<UserDTO>> EXPORT_COLUMNS = List.of(
+            new RowExporter.Column<>("id", UserDTO::getId),
+            new RowExporter.Column<>("name", UserDTO::getName),
+            new RowExporter.Column<>("email", UserDTO::getEmail),
+            new RowExporter.Column<>("phone", UserDTO::getPhone),
+            new RowExporter.Column<>("role", UserDTO::getRole),
+            new RowExporter.Column<>("status", UserDTO::getStatus),
+            new RowExporter.Column<>("createdAt", UserDTO::getCreatedAt));
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    private final UserRepository userRepository;
+    private final PasswordHasher passwordHasher;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserStatusCache userStatusCache;
+    private final DashboardCounters dashboardCounters;
+    private final CacheInvalidationBus invalidationBus;
+    private final RowExporter rowExporter;
+    private final TransactionTemplate transactionTemplate;
+
+    public UserService(UserRepository userRepository, PasswordHasher passwordHasher,
+                       TokenRevocationService tokenRevocationService, UserStatusCache userStatusCache,
+                       DashboardCounters dashboardCounters, CacheInvalidationBus invalidationBus,
+                       RowExporter rowExporter, TransactionTemplate transactionTemplate) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
+        this.tokenRevocationService = tokenRevocationService;
+        this.userStatusCache = userStatusCache;
+        this.dashboardCounters = dashboardCounters;
+        this.invalidationBus = invalidationBus;
+        this.rowExporter = rowExporter;
+        this.transactionTemplate = transactionTemplate;
     }
 
-    @Transactional
+    // Not transactional: the password is hashed first, so no database connection is held while
+    // waiting for the hashing pool; the writes then run in their own transaction
     public UserDTO createUser(UserDTO userDTO) {
         if (userRepository.existsByEmail(userDTO.getEmail())) {
             throw new ConflictException("Email already exists: " + userDTO.getEmail());
         }
-
-        User user = new User();
-        user.setName(userDTO.getName());
-        user.setEmail(userDTO.getEmail());
-        user.setPassword(passwordEncoder.encode(userDTO.getPassword())); // Hash password with BCrypt
-        user.setPhone(userDTO.getPhone());
-        user.setRole(userDTO.getRole());
-        user.setStatus(userDTO.getStatus() != null ? userDTO.getStatus() : User.Status.ACTIVE);
-        user.setDeleted(false);
-
-        User savedUser = userRepository.save(user);
-        return convertToDTO(savedUser);
+        String passwordHash = passwordHasher.encode(userDTO.getPassword()); // Hash password with BCrypt
+
+        return transactionTemplate.execute(tx -> {
+            // Checked again, the email may have been taken while the password was hashed
+            if (userRepository.existsByEmail(userDTO.getEmail())) {
+                throw new ConflictException("Email already exists: " + userDTO.getEmail());
+            }
+
+            User user = new User();
+            user.setName(userDTO.getName());
+            user.setEmail(userDTO.getEmail());
+            user.setPassword(passwordHash);
+            user.setPhone(userDTO.getPhone());
+            user.setRole(userDTO.getRole());
+            user.setStatus(userDTO.getStatus() != null ? userDTO.getStatus() : User.Status.ACTIVE);
+            user.setDeleted(false);
+
+            User savedUser = userRepository.save(user);
+            dashboardCounters.userAdded();
+            return convertToDTO(savedUser);
+        });
     }
 
     public PageResponse<UserDTO> getAllUsers(int page, int size, String status) {
@@ -72,6 +111,17 @@ public class UserService {
         );
     }
 
+    /**
+     * Writes every non-deleted user to {@code out}, ordered by id and without password hashes.
+     * Rows are streamed from a database cursor, so memory use is the same for any number of users.
+     */
+    @Transactional(readOnly = true)
+    public void exportUsers(RowExporter.Format format, OutputStream out) throws IOException {
+        try (Stream<UserDTO> rows = userRepository.streamAllForExport()) {
+            rowExporter.export(rows, format, EXPORT_COLUMNS, out);
+        }
+    }
+
     public List<UserDTO> getUsersByStatus(User.Status status) {
         return userRepository.findByStatus(status).stream()
                 .filter(user -> user.getDeleted() == null || !user.getDeleted()) // Handle null deleted field
@@ -85,28 +135,40 @@ public class UserService {
         return convertToDTO(user);
     }
 
-    @Transactional
+    // Not transactional, for the same reason as createUser
     public UserDTO updateUser(Long id, UserDTO userDTO) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
-
-        if (!user.getEmail().equals(userDTO.getEmail()) && userRepository.existsByEmail(userDTO.getEmail())) {
-            throw new ConflictException("Email already exists: " + userDTO.getEmail());
-        }
-
-        user.setName(userDTO.getName());
-        user.setEmail(userDTO.getEmail());
-        user.setPhone(userDTO.getPhone());
-        user.setRole(userDTO.getRole());
-        user.setStatus(userDTO.getStatus());
-
         // Only update password if provided
-        if (userDTO.getPassword() != null && !userDTO.getPassword().trim().isEmpty()) {
-            user.setPassword(passwordEncoder.encode(userDTO.getPassword())); // Hash password
-        }
-
-        User updatedUser = userRepository.save(user);
-        return convertToDTO(updatedUser);
+        boolean passwordProvided = userDTO.getPassword() != null && !userDTO.getPassword().trim().isEmpty();
+        String newPasswordHash = passwordProvided ? passwordHasher.encode(userDTO.getPassword()) : null;
+
+        return transactionTemplate.execute(tx -> {
+            User user = userRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+
+            if (!user.getEmail().equals(userDTO.getEmail()) && userRepository.existsByEmail(userDTO.getEmail())) {
+                throw new ConflictException("Email already exists: " + userDTO.getEmail());
+            }
+
+            // Issued tokens carry the role and are only valid for active users
+            if (user.getRole() != userDTO.getRole()
+                    || (user.getStatus() == User.Status.ACTIVE && userDTO.getStatus() != User.Status.ACTIVE)) {
+                tokenRevocationService.revokeUser(user.getId());
+            }
+
+            user.setName(userDTO.getName());
+            user.setEmail(userDTO.getEmail());
+            user.setPhone(userDTO.getPhone());
+            user.setRole(userDTO.getRole());
+            user.setStatus(userDTO.getStatus());
+            if (newPasswordHash != null) {
+                user.setPassword(newPasswordHash);
+            }
+
+            User updatedUser = userRepository.save(user);
+            userStatusCache.evict(updatedUser.getId());
+            invalidationBus.publish(CacheInvalidationBus.Topic.USER, updatedUser.getId());
+            return convertToDTO(updatedUser);
+        });
     }
 
     @Transactional
@@ -114,14 +176,21 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
         
+        if (user.getDeleted() == null || !user.getDeleted()) {
+            dashboardCounters.userRemoved();
+        }
+
         // Soft delete
         user.setDeleted(true);
         user.setDeletedAt(LocalDateTime.now());
         userRepository.save(user);
+        tokenRevocationService.revokeUser(user.getId());
+        userStatusCache.evict(user.getId());
+        invalidationBus.publish(CacheInvalidationBus.Topic.USER, user.getId());
     }
 
-    // Authentication with BCrypt password verification
-    @Transactional
+    // Authentication with BCrypt password verification.
+    // Not transactional, so no database connection is held while the hash runs.
     public UserDTO authenticate(String email, String password) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UnauthorizedException("Invalid credentials"));
@@ -132,7 +201,7 @@ public class UserService {
         }
 
         // Verify password with BCrypt
-        if (user.getPassword() == null || !passwordEncoder.matches(password, user.getPassword())) {
+        if (user.getPassword() == null || !passwordHasher.matches(password, user.getPassword())) {
             throw new UnauthorizedException("Invalid credentials");
         }
 
@@ -141,9 +210,25 @@ public class UserService {
             throw new UnauthorizedException("Account is inactive");
         }
 
+        // The plain password is only available here, so this is where old hashes get upgraded
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            try {
+                String upgraded = passwordHasher.encode(password);
+                if (userRepository.replacePasswordHash(user.getId(), user.getPassword(), upgraded) == 1) {
+                    invalidationBus.publish(CacheInvalidationBus.Topic.USER, user.getId());
+                }
+            } catch (ServiceUnavailableException e) {
+                // Pool is saturated; the upgrade can wait for the next login
+            }
+        }
+
         return convertToDTO(user);
     }
 
+    public HashingStatsDTO getPasswordHashingStats() {
+        return passwordHasher.stats();
+    }
+
     private UserDTO convertToDTO(User user) {
         UserDTO dto = new UserDTO();
         dto.setId(user.getId());
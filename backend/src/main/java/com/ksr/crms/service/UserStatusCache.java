@@ -0,0 +1,70 @@
+package com.ksr.crms.service;
+
+import com.ksr.crms.entity.User;
+import com.ksr.crms.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Current role and status per user id, so the JWT filter can turn away deactivated or deleted
+ * users without a query per request. Entries are loaded on first use, evicted after commit when
+ * UserService changes the user, and reloaded after a TTL to pick up changes from other instances.
+ */
+@Component
+public class UserStatusCache {
+
+    private final UserRepository userRepository;
+    private final long ttlNanos;
+    private final Map<Long, UserAccess> entries = new ConcurrentHashMap<>();
+
+    public UserStatusCache(UserRepository userRepository,
+                           @Value("${security.user-status-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+    }
+
+    /** Returns the user's current access, or null if the user does not exist. */
+    public UserAccess get(Long userId) {
+        long now = System.nanoTime();
+        UserAccess cached = entries.get(userId);
+        if (cached != null && now - cached.loadedAt() < ttlNanos) {
+            return cached;
+        }
+        UserAccess loaded = userRepository.findAccessById(userId)
+                .map(view -> new UserAccess(view.getRole(), view.getStatus(),
+                        view.getDeleted() != null && view.getDeleted(), now))
+                .orElse(null);
+        if (loaded == null) {
+            entries.remove(userId);
+        } else {
+            entries.put(userId, loaded);
+        }
+        return loaded;
+    }
+
+    /** Drops the entry once the surrounding transaction commits. */
+    public void evict(Long userId) {
+        TransactionCallbacks.afterCommit(() -> entries.remove(userId));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    @Scheduled(fixedDelay = 300_000)
+    public void evictExpired() {
+        long now = System.nanoTime();
+        entries.values().removeIf(access -> now - access.loadedAt() >= ttlNanos);
+    }
+
+    public record UserAccess(User.Role role, User.Status status, boolean deleted, long loadedAt) {
+
+        public boolean isActive() {
+            return !deleted && status == User.Status.ACTIVE;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.ksr.crms.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ksr.crms.config.RateLimitProperties;
+import com.ksr.crms.entity.User;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.filters.RemoteIpFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private RateLimitFilter rateLimitFilter;
+    // Does what server.forward-headers-strategy=native configures in Tomcat
+    private RemoteIpFilter remoteIpFilter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setLogin(new RateLimitProperties.Limit(1, 1));
+        properties.setBooking(Map.of(User.Role.STUDENT, new RateLimitProperties.Limit(5, 1)));
+        rateLimitFilter = new RateLimitFilter(properties, new ObjectMapper().findAndRegisterModules());
+        remoteIpFilter = new RemoteIpFilter();
+        remoteIpFilter.init(new MockFilterConfig());
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void loginBucketsAreKeyedByForwardedClientAddress() throws Exception {
+        assertThat(login("203.0.113.1").getStatus()).isEqualTo(200);
+        assertThat(login("203.0.113.1").getStatus()).isEqualTo(429);
+        // Same proxy, different client: its own bucket
+        assertThat(login("203.0.113.2").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void batchCostsOneTokenPerBooking() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "student@example.com", null, List.of(new SimpleGrantedAuthority("ROLE_STUDENT"))));
+
+        assertThat(batch(3).getStatus()).isEqualTo(200);
+        assertThat(batch(3).getStatus()).isEqualTo(429);
+        assertThat(batch(2).getStatus()).isEqualTo(200);
+        assertThat(batch(6).getStatus()).isEqualTo(429);
+    }
+
+    private MockHttpServletResponse login(String clientAddress) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+        request.setServletPath("/auth/login");
+        request.setRemoteAddr("10.0.0.7"); // The proxy
+        request.addHeader("X-Forwarded-For", clientAddress);
+        return run(request, remoteIpFilter, rateLimitFilter);
+    }
+
+    private MockHttpServletResponse batch(int bookings) throws Exception {
+        StringBuilder body = new StringBuilder("{\"bookings\":[");
+        for (int i = 0; i < bookings; i++) {
+            body.append(i == 0 ? "" : ",").append("{\"resourceId\":").append(i + 1).append('}');
+        }
+        body.append("]}");
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/bookings/batch");
+        request.setServletPath("/bookings/batch");
+        request.setContentType("application/json");
+        request.setContent(body.toString().getBytes(StandardCharsets.UTF_8));
+        return run(request, rateLimitFilter);
+    }
+
+    private static MockHttpServletResponse run(MockHttpServletRequest request, Filter... filters) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        // The endpoint itself just answers 200
+        new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) {
+            }
+        }, filters).doFilter(request, response);
+        return response;
+    }
+}
@@ -0,0 +1,153 @@
+package com.ksr.crms.service;
+
+import com.ksr.crms.dto.AssignmentRequestDTO;
+import com.ksr.crms.dto.BatchBookingResult;
+import com.ksr.crms.dto.BookingDTO;
+import com.ksr.crms.entity.Booking;
+import com.ksr.crms.entity.Resource;
+import com.ksr.crms.entity.User;
+import com.ksr.crms.repository.BookingRepository;
+import com.ksr.crms.repository.BookingSeriesRepository;
+import com.ksr.crms.repository.ResourceRepository;
+import com.ksr.crms.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A batch rejected by bookings_no_overlap (a slot taken on another instance) must not fail as a
+ * whole: the items are retried one by one and only the conflicting one is reported.
+ */
+class BookingBatchOverlapTest {
+
+    private static final long TAKEN_RESOURCE_ID = 2L;
+
+    private BookingRepository bookingRepository;
+    private ScheduleOptimizer scheduleOptimizer;
+    private BookingService bookingService;
+    private final List<Booking> lastSaved = new ArrayList<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        ResourceRepository resourceRepository = mock(ResourceRepository.class);
+        BookingConflictIndex conflictIndex = mock(BookingConflictIndex.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+
+        User staff = new User();
+        staff.setId(1L);
+        staff.setName("Staff");
+        staff.setRole(User.Role.STAFF);
+        staff.setStatus(User.Status.ACTIVE);
+        when(userRepository.findAllById(anyIterable())).thenReturn(List.of(staff));
+        when(resourceRepository.findAllById(anyIterable())).thenReturn(List.of(resource(1L), resource(TAKEN_RESOURCE_ID)));
+        when(resourceRepository.findBookable()).thenReturn(List.of(resource(1L), resource(TAKEN_RESOURCE_ID)));
+        when(conflictIndex.reserve(any(), any(), any(), any())).thenAnswer(invocation -> mock(BookingConflictIndex.Reservation.class));
+
+        // Runs each callback directly, as one transaction would
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        when(bookingRepository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            lastSaved.clear();
+            for (Booking booking : invocation.<Iterable<Booking>>getArgument(0)) {
+                booking.setId(ids.incrementAndGet());
+                lastSaved.add(booking);
+            }
+            return List.copyOf(lastSaved);
+        });
+        // Another instance holds the slot on resource 2, so any flush containing it is rejected
+        doAnswer(invocation -> {
+            if (lastSaved.stream().anyMatch(booking -> booking.getResource().getId() == TAKEN_RESOURCE_ID)) {
+                throw new DataIntegrityViolationException("insert failed",
+                        new SQLException("conflicting key value violates exclusion constraint", "23P01"));
+            }
+            return null;
+        }).when(bookingRepository).flush();
+
+        scheduleOptimizer = mock(ScheduleOptimizer.class);
+        bookingService = new BookingService(bookingRepository, userRepository, resourceRepository,
+                mock(BookingSeriesRepository.class), conflictIndex,
+                mock(ResourceAvailabilityCache.class), mock(ResourceCapacityIndex.class),
+                scheduleOptimizer, mock(DashboardCounters.class), mock(BookingRollups.class),
+                mock(UserDashboardCache.class), mock(CacheInvalidationBus.class), mock(RowExporter.class),
+                transactionTemplate);
+    }
+
+    @Test
+    void createBookingsReportsOnlyTheItemRejectedByTheConstraint() {
+        List<BatchBookingResult> results = bookingService.createBookings(List.of(
+                booking(1L), booking(TAKEN_RESOURCE_ID), booking(1L, Booking.TimeSlot.TWO_HOURS)));
+
+        assertThat(results).extracting(BatchBookingResult::isSuccess).containsExactly(true, false, true);
+        assertThat(results.get(1).getError()).isEqualTo("Resource is already booked for the selected time slot");
+        assertThat(results.get(0).getBooking().getResourceId()).isEqualTo(1L);
+    }
+
+    @Test
+    void scheduleBookingsReportsOnlyThePlacementRejectedByTheConstraint() {
+        // The optimizer's model did not yet show the booking made on the other instance
+        when(scheduleOptimizer.solve(any(), any(), any(), any())).thenReturn(new ScheduleOptimizer.Result(
+                Map.of(0, 1L, 1, TAKEN_RESOURCE_ID), Map.of()));
+
+        List<BatchBookingResult> results = bookingService.scheduleBookings(List.of(request(), request()));
+
+        assertThat(results).extracting(BatchBookingResult::isSuccess).containsExactly(true, false);
+        assertThat(results.get(1).getError()).isEqualTo("Resource is already booked for the selected time slot");
+    }
+
+    private static Resource resource(long id) {
+        Resource resource = new Resource();
+        resource.setId(id);
+        resource.setName("Room " + id);
+        resource.setStatus(Resource.Status.AVAILABLE);
+        resource.setType(Resource.Type.CLASSROOM);
+        resource.setCapacity(30);
+        return resource;
+    }
+
+    private static BookingDTO booking(long resourceId) {
+        return booking(resourceId, Booking.TimeSlot.ONE_HOUR);
+    }
+
+    private static BookingDTO booking(long resourceId, Booking.TimeSlot slot) {
+        BookingDTO dto = new BookingDTO();
+        dto.setUserId(1L);
+        dto.setResourceId(resourceId);
+        dto.setBookingDate(LocalDate.now().plusDays(1));
+        dto.setTimeSlot(slot);
+        return dto;
+    }
+
+    private static AssignmentRequestDTO request() {
+        AssignmentRequestDTO request = new AssignmentRequestDTO();
+        request.setUserId(1L);
+        request.setBookingDate(LocalDate.now().plusDays(1));
+        request.setTimeSlot(Booking.TimeSlot.ONE_HOUR);
+        request.setType(Resource.Type.CLASSROOM);
+        request.setHeadcount(10);
+        return request;
+    }
+}
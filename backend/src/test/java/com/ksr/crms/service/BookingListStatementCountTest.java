@@ -0,0 +1,128 @@
+package com.ksr.crms.service;
+
+import com.ksr.crms.entity.Booking;
+import com.ksr.crms.entity.Resource;
+import com.ksr.crms.entity.User;
+import com.ksr.crms.repository.BookingRepository;
+import com.ksr.crms.repository.BookingSeriesRepository;
+import com.ksr.crms.repository.ResourceRepository;
+import com.ksr.crms.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Listing bookings must cost the same number of SQL statements whatever the number of rows,
+ * i.e. no lazy user or resource is loaded per booking.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false"
+})
+class BookingListStatementCountTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    private BookingService bookingService;
+    private Statistics statistics;
+    private User student;
+    private int created;
+
+    @BeforeEach
+    void setUp() {
+        // Only the repositories are exercised by the list calls; the in-memory collaborators are stubbed
+        bookingService = new BookingService(bookingRepository, userRepository, resourceRepository,
+                mock(BookingSeriesRepository.class), mock(BookingConflictIndex.class),
+                mock(ResourceAvailabilityCache.class), mock(ResourceCapacityIndex.class),
+                mock(ScheduleOptimizer.class), mock(DashboardCounters.class), mock(BookingRollups.class),
+                mock(UserDashboardCache.class), mock(CacheInvalidationBus.class), mock(RowExporter.class),
+                mock(TransactionTemplate.class));
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        student = new User();
+        student.setName("Student");
+        student.setEmail("student@example.com");
+        student.setRole(User.Role.STUDENT);
+        userRepository.save(student);
+    }
+
+    @Test
+    void getAllBookingsIssuesConstantStatementCount() {
+        addBookings(3);
+        long few = statementsFor(() -> bookingService.getAllBookings(null, 200, null, null, null, null).getContent());
+
+        addBookings(47);
+        long many = statementsFor(() -> bookingService.getAllBookings(null, 200, null, null, null, null).getContent());
+
+        assertThat(few).isEqualTo(1);
+        assertThat(many).isEqualTo(few);
+    }
+
+    @Test
+    void getBookingsByUserIdIssuesConstantStatementCount() {
+        addBookings(3);
+        long few = statementsFor(() -> bookingService.getBookingsByUserId(student.getId()));
+
+        addBookings(47);
+        long many = statementsFor(() -> bookingService.getBookingsByUserId(student.getId()));
+
+        assertThat(few).isEqualTo(1);
+        assertThat(many).isEqualTo(few);
+    }
+
+    // Each booking gets its own resource, so a per-row lazy load would show up as extra statements
+    private void addBookings(int count) {
+        for (int i = 0; i < count; i++) {
+            created++;
+            Resource resource = new Resource();
+            resource.setName("Room " + created);
+            resource.setType(Resource.Type.CLASSROOM);
+            resource.setCapacity(30);
+            resourceRepository.save(resource);
+
+            Booking booking = new Booking();
+            booking.setUser(student);
+            booking.setResource(resource);
+            booking.setBookingDate(LocalDate.now().plusDays(created));
+            booking.setTimeSlot(Booking.TimeSlot.ONE_HOUR);
+            booking.setStartTime(Booking.DAY_START);
+            booking.setEndTime(Booking.DAY_START.plusHours(1));
+            booking.setStatus(Booking.BookingStatus.PENDING);
+            booking.setDeleted(false);
+            bookingRepository.save(booking);
+        }
+    }
+
+    private long statementsFor(Supplier<? extends List<?>> listCall) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        int rows = listCall.get().size();
+        assertThat(rows).isEqualTo(created);
+        return statistics.getPrepareStatementCount();
+    }
+}
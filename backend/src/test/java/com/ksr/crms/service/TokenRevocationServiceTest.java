@@ -0,0 +1,51 @@
+package com.ksr.crms.service;
+
+import com.ksr.crms.repository.RevokedTokenRepository;
+import com.ksr.crms.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class TokenRevocationServiceTest {
+
+    private static final long LIFETIME_MS = 1_800_000;
+
+    private TokenRevocationService revocationService;
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        // Outside a transaction the revocation is applied to the deny-list immediately
+        revocationService = new TokenRevocationService(mock(RevokedTokenRepository.class), LIFETIME_MS, 1000);
+        jwtUtil = new JwtUtil("test-secret-test-secret-test-secret-test-secret", LIFETIME_MS, 100);
+    }
+
+    @Test
+    void tokenIssuedRightAfterRevocationIsAccepted() {
+        revocationService.revokeUser(7L);
+
+        Claims claims = jwtUtil.verify(jwtUtil.generateToken("student@example.com", "STUDENT", 7L));
+
+        assertThat(revocationService.isRevoked(claims)).isFalse();
+    }
+
+    @Test
+    void tokenIssuedBeforeRevocationIsRejected() {
+        long now = System.currentTimeMillis();
+        Claims claims = Jwts.claims()
+                .add("userId", 7L)
+                .issuedAt(new Date(now - 2_000))
+                .expiration(new Date(now + LIFETIME_MS))
+                .build();
+
+        revocationService.revokeUser(7L);
+
+        assertThat(revocationService.isRevoked(claims)).isTrue();
+    }
+}
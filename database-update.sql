@@ -35,12 +35,102 @@ ALTER TABLE bookings ADD CONSTRAINT bookings_status_check
 -- Step 4: Update existing bookings status to APPROVED if they don't have a status
 UPDATE bookings SET status = 'APPROVED' WHERE status IS NULL;
 
--- Step 5: Verify the changes
+-- Step 5: Add explicit start/end times and backfill them for existing bookings
+-- Before start times existed, bookings only conflicted when their slot was identical, so the
+-- backfill must not stack every legacy booking of a day at 08:00.
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS start_time TIME;
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS end_time TIME;
+
+-- 5a: MORNING, AFTERNOON and FULL_DAY keep their fixed windows (same as Booking.TimeSlot)
+UPDATE bookings SET
+    start_time = CASE time_slot WHEN 'AFTERNOON' THEN TIME '13:00' ELSE TIME '08:00' END,
+    end_time   = CASE time_slot WHEN 'FULL_DAY' THEN TIME '20:00' WHEN 'AFTERNOON' THEN TIME '17:00' ELSE TIME '12:00' END
+WHERE start_time IS NULL AND time_slot IN ('MORNING', 'AFTERNOON', 'FULL_DAY');
+
+-- 5b: Duration slots go, in id order, at the first time from 08:00 that is free on their
+-- resource and day and still ends by 20:00. If the day is full they fall back to 08:00 and
+-- are reported by Step 6.
+DO $$
+DECLARE
+  b RECORD;
+  slot_length INTERVAL;
+  candidate TIME;
+  blocked_until TIME;
+BEGIN
+  FOR b IN SELECT id, resource_id, booking_date, time_slot, deleted, status FROM bookings
+           WHERE start_time IS NULL ORDER BY id LOOP
+    slot_length := CASE b.time_slot
+        WHEN 'ONE_HOUR'    THEN INTERVAL '1 hour'
+        WHEN 'TWO_HOURS'   THEN INTERVAL '2 hours'
+        WHEN 'THREE_HOURS' THEN INTERVAL '3 hours'
+        WHEN 'FIVE_HOURS'  THEN INTERVAL '5 hours'
+        ELSE INTERVAL '4 hours' -- FOUR_HOURS
+      END;
+    candidate := TIME '08:00';
+    -- Inactive rows never conflicted, so they simply take 08:00
+    IF b.deleted IS NOT TRUE AND b.status <> 'REJECTED' THEN
+      LOOP
+        SELECT max(o.end_time) INTO blocked_until FROM bookings o
+        WHERE o.resource_id = b.resource_id AND o.booking_date = b.booking_date
+          AND o.start_time IS NOT NULL AND o.deleted IS NOT TRUE AND o.status <> 'REJECTED'
+          AND o.start_time < candidate + slot_length AND o.end_time > candidate;
+        EXIT WHEN blocked_until IS NULL;
+        candidate := blocked_until;
+        IF candidate > TIME '20:00' - slot_length THEN
+          candidate := TIME '08:00';
+          EXIT;
+        END IF;
+      END LOOP;
+    END IF;
+    UPDATE bookings SET start_time = candidate, end_time = candidate + slot_length WHERE id = b.id;
+  END LOOP;
+END $$;
+
+-- Step 6: Let Postgres reject overlapping active bookings of the same resource, even across replicas.
+-- slot_range is derived from booking_date/start_time/end_time, so the application never writes it.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS slot_range TSRANGE
+  GENERATED ALWAYS AS (tsrange(booking_date + start_time, booking_date + end_time, '[)')) STORED;
+
+-- Legacy rows that still overlap after the Step 5 backfill (e.g. MORNING + FULL_DAY) would make
+-- the constraint fail. Every active row overlapping an active row with a lower id is flagged and
+-- left out of the constraint; the application still treats it as occupying its slot.
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS legacy_overlap BOOLEAN NOT NULL DEFAULT false;
+
+UPDATE bookings b SET legacy_overlap = true
+WHERE b.deleted IS NOT TRUE AND b.status <> 'REJECTED'
+  AND EXISTS (
+    SELECT 1 FROM bookings o
+    WHERE o.resource_id = b.resource_id AND o.id < b.id
+      AND o.deleted IS NOT TRUE AND o.status <> 'REJECTED'
+      AND o.slot_range && b.slot_range
+  );
+
+-- Report the flagged rows so they can be moved, rejected or cancelled
+SELECT id, resource_id, user_id, booking_date, time_slot, start_time, end_time, status
+FROM bookings WHERE legacy_overlap ORDER BY resource_id, booking_date, start_time;
+
+ALTER TABLE bookings DROP CONSTRAINT IF EXISTS bookings_no_overlap;
+ALTER TABLE bookings ADD CONSTRAINT bookings_no_overlap
+  EXCLUDE USING gist (resource_id WITH =, slot_range WITH &&)
+  WHERE (deleted IS NOT TRUE AND status <> 'REJECTED' AND NOT legacy_overlap);
+
+-- Step 7: Booking ids now come from bookings_id_seq in blocks of 50 so inserts can be batched
+ALTER SEQUENCE IF EXISTS bookings_id_seq INCREMENT BY 50;
+
+-- Step 8: Index for the case-insensitive name prefix search on GET /resources
+-- (text_pattern_ops lets LIKE 'abc%' use the index whatever the database collation)
+CREATE INDEX IF NOT EXISTS idx_resources_lower_name ON resources (lower(name) text_pattern_ops);
+
+-- Step 9: Verify the changes
 SELECT 
   constraint_name, 
   check_clause 
 FROM information_schema.check_constraints 
 WHERE constraint_name IN ('bookings_time_slot_check', 'bookings_status_check');
 
+SELECT conname FROM pg_constraint WHERE conname = 'bookings_no_overlap';
+
 -- Success message
 SELECT 'Database constraints updated successfully!' as message;
@@ -132,6 +132,7 @@ export const AuthProvider: React.FC<{ children: React.ReactNode }> = ({ children
         setUser(null);
         localStorage.removeItem('crms_user');
         localStorage.removeItem('jwt_token');
+        localStorage.removeItem('refresh_token');
         sessionManager.clearSession();
     }, []);
 
@@ -18,6 +18,9 @@ export const ResourcesPage: React.FC = () => {
     const [showEditModal, setShowEditModal] = useState(false);
     const [filterType, setFilterType] = useState<ResourceType | 'ALL'>('ALL');
     const [filterStatus, setFilterStatus] = useState<'ALL' | 'AVAILABLE' | 'UNAVAILABLE' | 'MAINTENANCE'>('ALL');
+    const [searchName, setSearchName] = useState('');
+    const [page, setPage] = useState(0);
+    const [totalPages, setTotalPages] = useState(0);
 
     // Booking form state
     const [bookingDate, setBookingDate] = useState('');
@@ -34,15 +37,23 @@ export const ResourcesPage: React.FC = () => {
     });
     const [isSubmitting, setIsSubmitting] = useState(false);
 
+    // Filtering happens on the server; the short delay avoids a request per keystroke
     useEffect(() => {
-        loadResources();
-    }, []);
+        const timer = setTimeout(loadResources, 300);
+        return () => clearTimeout(timer);
+    }, [filterType, filterStatus, searchName, page]);
 
     const loadResources = async () => {
         try {
             setIsLoading(true);
-            const data = await resourcesAPI.getAll();
-            setResources(data);
+            const result = await resourcesAPI.search({
+                type: filterType !== 'ALL' ? filterType : undefined,
+                status: filterStatus !== 'ALL' ? filterStatus : undefined,
+                name: searchName.trim(),
+                page,
+            });
+            setResources(result.resources);
+            setTotalPages(result.totalPages);
         } catch (error) {
             showToast('Failed to load resources', 'error');
         } finally {
@@ -145,12 +156,6 @@ export const ResourcesPage: React.FC = () => {
         setShowEditModal(true);
     };
 
-    const filteredResources = resources.filter(r => {
-        if (filterType !== 'ALL' && r.type !== filterType) return false;
-        if (filterStatus !== 'ALL' && r.status !== filterStatus) return false;
-        return true;
-    });
-
     const getStatusColor = (status: Resource['status']) => {
         switch (status) {
             case 'AVAILABLE': return 'bg-green-100 text-green-800';
@@ -225,11 +230,21 @@ export const ResourcesPage: React.FC = () => {
 
             {/* Filters */}
             <div className="bg-white rounded-xl p-4 border border-gray-200 flex flex-wrap gap-4">
+                <div className="flex-1 min-w-[200px]">
+                    <label className="block text-sm font-medium text-gray-700 mb-2">Name</label>
+                    <input
+                        type="text"
+                        value={searchName}
+                        onChange={(e) => { setSearchName(e.target.value); setPage(0); }}
+                        placeholder="Starts with..."
+                        className="w-full px-4 py-2 border border-gray-300 rounded-lg focus:ring-2 focus:ring-indigo-500 focus:border-transparent"
+                    />
+                </div>
                 <div className="flex-1 min-w-[200px]">
                     <label className="block text-sm font-medium text-gray-700 mb-2">Resource Type</label>
                     <select
                         value={filterType}
-                        onChange={(e) => setFilterType(e.target.value as typeof filterType)}
+                        onChange={(e) => { setFilterType(e.target.value as typeof filterType); setPage(0); }}
                         className="w-full px-4 py-2 border border-gray-300 rounded-lg focus:ring-2 focus:ring-indigo-500 focus:border-transparent"
                     >
                         <option value="ALL">All Types</option>
@@ -243,7 +258,7 @@ export const ResourcesPage: React.FC = () => {
                     <label className="block text-sm font-medium text-gray-700 mb-2">Status</label>
                     <select
                         value={filterStatus}
-                        onChange={(e) => setFilterStatus(e.target.value as typeof filterStatus)}
+                        onChange={(e) => { setFilterStatus(e.target.value as typeof filterStatus); setPage(0); }}
                         className="w-full px-4 py-2 border border-gray-300 rounded-lg focus:ring-2 focus:ring-indigo-500 focus:border-transparent"
                     >
                         <option value="ALL">All Status</option>
@@ -261,7 +276,7 @@ export const ResourcesPage: React.FC = () => {
                     <SkeletonCard />
                     <SkeletonCard />
                 </div>
-            ) : filteredResources.length === 0 ? (
+            ) : resources.length === 0 ? (
                 <div className="text-center py-12 bg-white rounded-xl border border-gray-200">
                     <svg className="w-16 h-16 mx-auto text-gray-300 mb-4" fill="none" stroke="currentColor" viewBox="0 0 24 24">
                         <path strokeLinecap="round" strokeLinejoin="round" strokeWidth={2} d="M20 13V6a2 2 0 00-2-2H6a2 2 0 00-2 2v7m16 0v5a2 2 0 01-2 2H6a2 2 0 01-2-2v-5m16 0h-2.586a1 1 0 00-.707.293l-2.414 2.414a1 1 0 01-.707.293h-3.172a1 1 0 01-.707-.293l-2.414-2.414A1 1 0 006.586 13H4" />
@@ -270,7 +285,7 @@ export const ResourcesPage: React.FC = () => {
                 </div>
             ) : (
                 <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 gap-6">
-                    {filteredResources.map((resource) => (
+                    {resources.map((resource) => (
                         <div
                             key={resource.id}
                             className="bg-white rounded-xl border border-gray-200 hover:shadow-lg transition-all duration-300 overflow-hidden"
@@ -337,6 +352,19 @@ export const ResourcesPage: React.FC = () => {
                 </div>
             )}
 
+            {/* Pagination */}
+            {totalPages > 1 && (
+                <div className="flex items-center justify-center gap-4">
+                    <Button variant="secondary" size="sm" disabled={page === 0 || isLoading} onClick={() => setPage(page - 1)}>
+                        Previous
+                    </Button>
+                    <span className="text-sm text-gray-600">Page {page + 1} of {totalPages}</span>
+                    <Button variant="secondary" size="sm" disabled={page >= totalPages - 1 || isLoading} onClick={() => setPage(page + 1)}>
+                        Next
+                    </Button>
+                </div>
+            )}
+
             {/* Book Resource Modal */}
             <Modal
                 isOpen={showBookModal}
@@ -1,7 +1,8 @@
 import React, { useEffect, useState } from 'react';
 import { useAuth } from '../context/AuthContext';
 import { useToast } from '../context/ToastContext';
-import { statsAPI, bookingsAPI } from '../services/api';
+import { statsAPI } from '../services/api';
+import { Booking } from '../types';
 import { SkeletonCard } from '../components/Loading';
 
 interface DashboardStats {
@@ -9,6 +10,7 @@ interface DashboardStats {
     myBookings: number;
     approvedBookings: number;
     pendingBookings: number;
+    recentBookings?: Booking[];
 }
 
 interface RecentBooking {
@@ -38,13 +40,11 @@ export const StudentDashboard: React.FC<StudentDashboardProps> = ({ onNavigate }
         try {
             setIsLoading(true);
 
-            // Load stats
-            const statsData = await statsAPI.getStats(user!.role, user!.id);
-            setStats(statsData as DashboardStats);
+            // Load stats and the latest bookings in one call
+            const statsData = await statsAPI.getStats(user!.role, user!.id) as DashboardStats;
+            setStats(statsData);
 
-            // Load recent bookings
-            const bookingsData = await bookingsAPI.getByUser(user!.id);
-            const mappedBookings: RecentBooking[] = bookingsData.slice(0, 5).map(b => ({
+            const mappedBookings: RecentBooking[] = (statsData.recentBookings || []).map(b => ({
                 id: b.id,
                 resourceName: b.resourceName,
                 date: b.bookingDate,
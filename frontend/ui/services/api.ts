@@ -27,10 +27,46 @@ apiClient.interceptors.request.use(
     }
 );
 
+// Exchange the stored refresh token for a new JWT; concurrent callers share one request
+let refreshInFlight: Promise<string | null> | null = null;
+const refreshAccessToken = (): Promise<string | null> => {
+    const refreshToken = localStorage.getItem('refresh_token');
+    if (!refreshToken) return Promise.resolve(null);
+    if (!refreshInFlight) {
+        refreshInFlight = axios
+            .post(`${API_BASE_URL}/auth/refresh`, { refreshToken }, { withCredentials: true })
+            .then((response) => {
+                localStorage.setItem('jwt_token', response.data.token);
+                localStorage.setItem('refresh_token', response.data.refreshToken);
+                return response.data.token as string;
+            })
+            .catch(() => {
+                localStorage.removeItem('refresh_token');
+                return null;
+            })
+            .finally(() => {
+                refreshInFlight = null;
+            });
+    }
+    return refreshInFlight;
+};
+
 // Response interceptor for error handling
 apiClient.interceptors.response.use(
     (response) => response,
-    (error) => {
+    async (error) => {
+        // Expired JWT: renew it with the refresh token and retry once
+        const original = error.config;
+        const status = error.response?.status;
+        if ((status === 401 || status === 403) && original && !original._retried
+                && !String(original.url).startsWith('/auth/')) {
+            original._retried = true;
+            const token = await refreshAccessToken();
+            if (token) {
+                original.headers.Authorization = `Bearer ${token}`;
+                return apiClient(original);
+            }
+        }
         if (error.response) {
             // Server responded with error status
             const message = error.response.data?.message || error.response.data?.error || 'An error occurred';
@@ -105,8 +141,8 @@ export const authAPI = {
                 password
             });
             
-            // Backend now returns { token, user }
-            const { token, user: backendUser } = response.data;
+            // Backend now returns { token, refreshToken, user }
+            const { token, refreshToken, user: backendUser } = response.data;
             const user = mapBackendUser(backendUser);
             
             // Verify role matches
@@ -116,6 +152,7 @@ export const authAPI = {
             
             // Store JWT token in localStorage
             localStorage.setItem('jwt_token', token);
+            localStorage.setItem('refresh_token', refreshToken);
             
             return user;
         } catch (error) {
@@ -146,13 +183,43 @@ export const authAPI = {
 export const resourcesAPI = {
     getAll: async (): Promise<Resource[]> => {
         try {
-            const response = await apiClient.get('/resources');
+            const response = await apiClient.get('/resources/catalog');
             return response.data.map(mapBackendResource);
         } catch (error) {
             throw error;
         }
     },
 
+    // Filtered and paged on the server; omitted filters are not sent
+    search: async (params: {
+        type?: ResourceType;
+        status?: Resource['status'];
+        name?: string;
+        page?: number;
+        size?: number;
+    }): Promise<{ resources: Resource[]; page: number; totalPages: number; totalElements: number }> => {
+        try {
+            const response = await apiClient.get('/resources', {
+                params: {
+                    type: params.type,
+                    status: params.status,
+                    name: params.name || undefined,
+                    page: params.page ?? 0,
+                    size: params.size ?? 30,
+                },
+            });
+            const data = response.data;
+            return {
+                resources: data.content.map(mapBackendResource),
+                page: data.pageNumber,
+                totalPages: data.totalPages,
+                totalElements: data.totalElements,
+            };
+        } catch (error) {
+            throw error;
+        }
+    },
+
     getById: async (id: string): Promise<Resource> => {
         try {
             const response = await apiClient.get(`/resources/${id}`);
@@ -210,8 +277,17 @@ export const resourcesAPI = {
 export const bookingsAPI = {
     getAll: async (): Promise<Booking[]> => {
         try {
-            const response = await apiClient.get('/bookings');
-            return response.data.map(mapBackendBooking);
+            // Backend returns keyset-paginated pages; follow nextCursor until exhausted
+            const bookings: Booking[] = [];
+            let cursor: string | undefined;
+            do {
+                const response = await apiClient.get('/bookings', {
+                    params: { size: 200, cursor },
+                });
+                bookings.push(...response.data.content.map(mapBackendBooking));
+                cursor = response.data.nextCursor || undefined;
+            } while (cursor);
+            return bookings;
         } catch (error) {
             throw error;
         }
@@ -325,29 +401,24 @@ export const usersAPI = {
 
 // Stats API
 export const statsAPI = {
-    getStats: async (role: 'student' | 'staff' | 'admin', userId: string) => {
+    getStats: async (role: 'student' | 'staff' | 'admin', _userId: string) => {
         try {
-            const response = await apiClient.get('/dashboard/stats');
-            const stats = response.data;
-            
             if (role === 'student') {
-                // Get user-specific bookings
-                const userBookings = await bookingsAPI.getByUser(userId);
-                const approvedBookings = userBookings.filter(b => b.status === 'APPROVED');
-                const pendingBookings = userBookings.filter(b => b.status === 'PENDING');
-                
-                // Get available resources
-                const resources = await resourcesAPI.getAll();
-                const availableResources = resources.filter(r => r.status === 'AVAILABLE');
-                
+                // Per-user aggregates computed server-side; only the latest few bookings are transferred
+                const response = await apiClient.get('/dashboard/me');
+                const mine = response.data;
+
                 return {
-                    availableResources: availableResources.length,
-                    myBookings: userBookings.length,
-                    approvedBookings: approvedBookings.length,
-                    pendingBookings: pendingBookings.length,
+                    availableResources: mine.availableResources || 0,
+                    myBookings: mine.totalBookings || 0,
+                    approvedBookings: mine.approvedBookings || 0,
+                    pendingBookings: mine.pendingBookings || 0,
+                    recentBookings: (mine.recentBookings || []).map(mapBackendBooking),
                 };
             } else {
                 // Staff and Admin stats from backend
+                const response = await apiClient.get('/dashboard/stats');
+                const stats = response.data;
                 const users = await usersAPI.getAll();
                 const activeStudents = users.filter(u => u.role === 'student' && u.status === 'active');
                 